@@ -0,0 +1,173 @@
+package hr.srce.croris;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+final class BenchmarkFixture {
+    private static final List<String> LANG_CODES = List.of("en", "hr");
+    private static final Map<String, String[]> WORDS = Map.of(
+            "en", new String[]{
+                    "the", "user", "account", "document", "was", "saved", "successfully", "please", "enter", "valid",
+                    "email", "address", "before", "continuing", "an", "error", "occurred", "while", "loading", "data",
+                    "search", "results", "institution", "project", "report", "export", "delete", "selected", "items", "new"
+            },
+            "hr", new String[]{
+                    "korisnik", "račun", "dokument", "je", "uspješno", "spremljen", "molimo", "unesite", "ispravnu", "adresu",
+                    "elektroničke", "pošte", "prije", "nastavka", "došlo", "do", "pogreške", "prilikom", "učitavanja", "podataka",
+                    "rezultati", "pretrage", "ustanova", "projekt", "izvješće", "izvoz", "obriši", "odabrane", "stavke", "novi"
+            }
+    );
+    private static final String[] KEY_PREFIXES = {"app", "form", "menu", "user", "project", "excel"};
+    private static final String[] KEY_SUFFIXES = {"title", "label", "placeholder", "create.success", "tooltip"};
+    private static final double MISSING_KEY_RATIO = 0.02;
+    private static final double EMPTY_VALUE_RATIO = 0.01;
+    private static final double DUPLICATE_VALUE_RATIO = 0.05;
+    private static final double WRONG_LANGUAGE_RATIO = 0.03;
+    private static final double CORE_KEY_RATIO = 0.05;
+    private static final int FILLER_LINES_PER_SOURCE_FILE = 40;
+
+    private final Path folder;
+    private final Path coreFolder;
+    private final Path srcFolder;
+    private final List<String> langCodes;
+    private final List<String> keys;
+
+    private BenchmarkFixture(
+            final Path folder,
+            final Path coreFolder,
+            final Path srcFolder,
+            final List<String> langCodes,
+            final List<String> keys
+    ) {
+        this.folder = folder;
+        this.coreFolder = coreFolder;
+        this.srcFolder = srcFolder;
+        this.langCodes = langCodes;
+        this.keys = keys;
+    }
+
+    static BenchmarkFixture generate(
+            final Path root,
+            final int keyCount,
+            final int languageCount,
+            final int sourceFileCount,
+            final double keyHitRatio,
+            final long seed
+    ) throws IOException {
+        if (languageCount < 1 || languageCount > LANG_CODES.size()) {
+            throw new IllegalArgumentException("languageCount must be between 1 and " + LANG_CODES.size());
+        }
+        final Random random = new Random(seed);
+        final Path moduleSrcFolder = root.resolve("module").resolve("src");
+        final Path folder = Files.createDirectories(moduleSrcFolder.resolve("main").resolve("resources").resolve("i18n"));
+        final Path coreFolder = Files.createDirectories(root.resolve("core").resolve("src").resolve("main").resolve("resources").resolve("i18n-core"));
+        final List<String> langCodes = LANG_CODES.subList(0, languageCount);
+
+        final List<String> keys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keys.add(KEY_PREFIXES[i % KEY_PREFIXES.length] + ".section" + (i % 37) + ".key" + i + "." + KEY_SUFFIXES[i % KEY_SUFFIXES.length]);
+        }
+        for (final String langCode : langCodes) {
+            final Map<String, String> translations = new LinkedHashMap<>();
+            final Map<String, String> coreTranslations = new LinkedHashMap<>();
+            final List<String> values = new ArrayList<>();
+            for (final String key : keys) {
+                if (!langCode.equals(langCodes.get(0)) && random.nextDouble() < MISSING_KEY_RATIO) {
+                    continue;
+                }
+                final String value = randomValue(random, langCode, langCodes, values);
+                values.add(value);
+                translations.put(key, value);
+                if (random.nextDouble() < CORE_KEY_RATIO) {
+                    coreTranslations.put(key, value);
+                }
+            }
+            writeTranslationFile(folder.resolve("messages_" + langCode + ".properties"), translations);
+            writeTranslationFile(coreFolder.resolve("messages_" + langCode + ".properties"), coreTranslations);
+        }
+
+        final Path packageFolder = Files.createDirectories(moduleSrcFolder.resolve("main").resolve("java").resolve("fixture"));
+        final List<String> usedKeys = new ArrayList<>(keys);
+        Collections.shuffle(usedKeys, random);
+        final int usedKeyCount = (int) Math.round(keyCount * keyHitRatio);
+        for (int fileIndex = 0; fileIndex < sourceFileCount; fileIndex++) {
+            final StringBuilder source = new StringBuilder();
+            source.append("package fixture;\n\npublic class Source").append(fileIndex).append(" {\n");
+            for (int line = 0; line < FILLER_LINES_PER_SOURCE_FILE; line++) {
+                source.append("    private final int field").append(line).append(" = ").append(random.nextInt()).append(";\n");
+            }
+            for (int keyIndex = fileIndex; keyIndex < usedKeyCount; keyIndex += sourceFileCount) {
+                source.append("    private static final String KEY").append(keyIndex).append(" = \"")
+                        .append(usedKeys.get(keyIndex)).append("\";\n");
+            }
+            source.append("}\n");
+            Files.write(packageFolder.resolve("Source" + fileIndex + ".java"), source.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return new BenchmarkFixture(folder, coreFolder, moduleSrcFolder, langCodes, keys);
+    }
+
+    private static String randomValue(
+            final Random random,
+            final String langCode,
+            final List<String> langCodes,
+            final List<String> values
+    ) {
+        final double roll = random.nextDouble();
+        if (roll < EMPTY_VALUE_RATIO) {
+            return "";
+        }
+        if (roll < EMPTY_VALUE_RATIO + DUPLICATE_VALUE_RATIO && !values.isEmpty()) {
+            return values.get(random.nextInt(values.size()));
+        }
+        String valueLangCode = langCode;
+        if (roll < EMPTY_VALUE_RATIO + DUPLICATE_VALUE_RATIO + WRONG_LANGUAGE_RATIO && langCodes.size() > 1) {
+            valueLangCode = langCodes.get((langCodes.indexOf(langCode) + 1) % langCodes.size());
+        }
+        final String[] words = WORDS.get(valueLangCode);
+        final int wordCount = 2 + random.nextInt(random.nextInt(10) == 0 ? 30 : 8);
+        final StringBuilder value = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) {
+                value.append(' ');
+            }
+            value.append(words[random.nextInt(words.length)]);
+        }
+        value.setCharAt(0, Character.toUpperCase(value.charAt(0)));
+        return value.append('.').toString();
+    }
+
+    private static void writeTranslationFile(final Path path, final Map<String, String> translations) throws IOException {
+        try (final Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (final Map.Entry<String, String> translationsEntry : translations.entrySet()) {
+                writer.write(PropertiesParser.escapeKey(translationsEntry.getKey()));
+                writer.write('=');
+                writer.write(PropertiesParser.escapeValue(translationsEntry.getValue()));
+                writer.write('\n');
+            }
+        }
+    }
+
+    Path getFolder() {
+        return folder;
+    }
+
+    Path getCoreFolder() {
+        return coreFolder;
+    }
+
+    Path getSrcFolder() {
+        return srcFolder;
+    }
+
+    List<String> getLangCodes() {
+        return langCodes;
+    }
+
+    List<String> getKeys() {
+        return keys;
+    }
+}
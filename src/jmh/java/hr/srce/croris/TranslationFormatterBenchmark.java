@@ -0,0 +1,117 @@
+package hr.srce.croris;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranslationFormatterBenchmark {
+    private static final long FIXTURE_SEED = 42;
+
+    @Param({"1000", "10000"})
+    private int keyCount;
+
+    @Param({"2"})
+    private int languageCount;
+
+    @Param({"100", "1000"})
+    private int sourceFileCount;
+
+    @Param({"0.8"})
+    private double keyHitRatio;
+
+    private Path root;
+    private BenchmarkFixture fixture;
+    private File translationFile;
+    private Map<String, String> translations;
+    private Map<String, Map<String, String>> translationsByLangCode;
+    private TranslationFormatterOptions options;
+
+    @State(Scope.Thread)
+    public static class ColdLanguageDetector {
+        @Setup(Level.Invocation)
+        public void clearCache() {
+            for (final LanguageCheckMode languageCheckMode : LanguageCheckMode.values()) {
+                LanguageDetectorService.getInstance(languageCheckMode).clearCache();
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.root = Files.createTempDirectory("i18n-benchmark");
+        this.fixture = BenchmarkFixture.generate(this.root, this.keyCount, this.languageCount, this.sourceFileCount, this.keyHitRatio, FIXTURE_SEED);
+        this.translationsByLangCode = new HashMap<>();
+        for (final String langCode : this.fixture.getLangCodes()) {
+            final File file = this.fixture.getFolder().resolve("messages_" + langCode + ".properties").toFile();
+            this.translationsByLangCode.put(langCode, TranslationFolderWrapper.parseTranslationFile(file));
+        }
+        final String langCode = this.fixture.getLangCodes().get(0);
+        this.translationFile = this.fixture.getFolder().resolve("messages_" + langCode + ".properties").toFile();
+        this.translations = this.translationsByLangCode.get(langCode);
+        this.options = new TranslationFormatterOptions();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (final Stream<Path> paths = Files.walk(this.root)) {
+            final List<Path> sortedPaths = new ArrayList<>();
+            paths.forEach(sortedPaths::add);
+            Collections.reverse(sortedPaths);
+            for (final Path path : sortedPaths) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> parse() throws IOException {
+        return TranslationFolderWrapper.parseTranslationFile(this.translationFile);
+    }
+
+    @Benchmark
+    public SourceUsageIndex scan() throws IOException {
+        return SourceUsageIndex.build(
+                this.fixture.getSrcFolder().toFile(),
+                this.fixture.getFolder().toFile(),
+                this.fixture.getKeys(),
+                this.options
+        );
+    }
+
+    @Benchmark
+    public Map<String, Set<String>> duplicates() {
+        return new TranslationValueIndex(this.translations).getDuplicatedValues();
+    }
+
+    @Benchmark
+    public Map<String, Set<String>> languageDetection(final ColdLanguageDetector coldLanguageDetector) throws IOException {
+        return new LanguageVerifier(this.options.getLanguageCheckMode(), this.options.getThreads(), this.options.getRunProfile())
+                .findWrongLanguageKeys(this.translationsByLangCode);
+    }
+
+    @Benchmark
+    public CharSequence serialise() {
+        return TranslationFolderWrapper.getWriteableStringFromTranslationMap(this.translations);
+    }
+
+    @Benchmark
+    public TranslationFolderWrapper endToEnd(final ColdLanguageDetector coldLanguageDetector) throws IOException {
+        return new TranslationFolderWrapper(
+                this.fixture.getFolder().toString(),
+                this.fixture.getCoreFolder().toString(),
+                this.options
+        );
+    }
+}
@@ -1,18 +1,42 @@
 package hr.srce.croris;
 
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.util.Arrays;
-import java.util.Optional;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class App {
     private static final String TRUE = Boolean.TRUE.toString();
     private static final String FALSE = Boolean.FALSE.toString();
     private static final String CMD_ARG_PATH_KEY = "-path=";
+    private static final String CMD_ARG_PATHS_KEY = "-paths=";
+    private static final String CMD_ARG_ROOT_KEY = "-root=";
     private static final String CMD_ARG_CORE_PATH_KEY = "-core=";
     private static final String CMD_ARG_REMOVE_IF_KEY_EXISTS_IN_CORE_KEY = "-removeIfKeyExistsInCore=";
     private static final String CMD_ARG_REMOVE_IF_KEY_NOT_IN_USE_KEY = "-removeIfKeyNotInUse=";
     private static final String CMD_ARG_APPLY_CHANGES_ON_DISK_KEY = "-applyChangesOnDisk=";
+    private static final String CMD_ARG_THREADS_KEY = "-threads=";
+    private static final String CMD_ARG_USAGE_CACHE_KEY = "-usageCache=";
+    private static final String CMD_ARG_LANGUAGE_CHECK_MODE_KEY = "-languageCheckMode=";
+    private static final String CMD_ARG_WATCH_KEY = "-watch=";
+    private static final String CMD_ARG_PROFILE_KEY = "-profile=";
+    private static final String PROFILE_FORMAT_JSON = "json";
+    private static final String CMD_ARG_REPORT_KEY = "-report=";
+    private static final String CMD_ARG_REPORT_FILE_KEY = "-reportFile=";
+    private static final String CMD_ARG_MAX_SOURCE_FILE_SIZE_KEY = "-maxSourceFileSize=";
+    private static final String CMD_ARG_EXCLUDE_SOURCES_KEY = "-excludeSources=";
+    private static final String CMD_ARG_CHANGED_KEY = "-changed=";
+    private static final String CHANGED_FROM_STDIN = "-";
+    private static final String REPORT_FORMAT_TEXT = "text";
+    private static final String REPORT_FORMAT_JSON_LINES = "jsonl";
+    private static final String REPORT_FORMAT_SARIF = "sarif";
+    private static final String PATHS_SEPARATOR = ",";
 
     private static Optional<String> getCmdArg(
             final String[] args,
@@ -32,21 +56,201 @@ public class App {
         return getCmdArg(args, key).orElse(defaultValue);
     }
 
+    private static List<String> getFolderPaths(final String[] args, final String coreMessagesFolderPath) throws IOException {
+        final Set<String> folderPaths = new LinkedHashSet<>();
+        getCmdArg(args, CMD_ARG_PATH_KEY).ifPresent(folderPaths::add);
+        final Optional<String> folderPathsOrGlobs = getCmdArg(args, CMD_ARG_PATHS_KEY);
+        if (folderPathsOrGlobs.isPresent()) {
+            for (final String folderPathOrGlob : folderPathsOrGlobs.get().split(PATHS_SEPARATOR)) {
+                if (!folderPathOrGlob.isBlank()) {
+                    folderPaths.addAll(TranslationFolderDiscovery.resolve(folderPathOrGlob.trim()));
+                }
+            }
+        }
+        final Optional<String> rootPath = getCmdArg(args, CMD_ARG_ROOT_KEY);
+        if (rootPath.isPresent()) {
+            folderPaths.addAll(TranslationFolderDiscovery.discover(new File(rootPath.get())));
+        }
+        folderPaths.removeIf(folderPath -> new File(folderPath).getAbsoluteFile().equals(new File(coreMessagesFolderPath).getAbsoluteFile()));
+        if (folderPaths.isEmpty()) {
+            throw new FileNotFoundException();
+        }
+        return new ArrayList<>(folderPaths);
+    }
+
+    private static List<String> getExcludeSourceGlobs(final String excludeSources) {
+        final List<String> excludeSourceGlobs = new ArrayList<>();
+        for (final String excludeSourceGlob : excludeSources.split(PATHS_SEPARATOR)) {
+            if (!excludeSourceGlob.isBlank()) {
+                excludeSourceGlobs.add(excludeSourceGlob.trim());
+            }
+        }
+        return excludeSourceGlobs;
+    }
+
+    private static List<File> getChangedFiles(final String changed) throws IOException {
+        final List<String> changedPaths = new ArrayList<>();
+        if (CHANGED_FROM_STDIN.equals(changed)) {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, Charset.defaultCharset()));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                changedPaths.add(line);
+            }
+        } else {
+            changedPaths.addAll(Arrays.asList(changed.split(PATHS_SEPARATOR)));
+        }
+        final List<File> changedFiles = new ArrayList<>();
+        for (final String changedPath : changedPaths) {
+            if (!changedPath.isBlank()) {
+                changedFiles.add(new File(changedPath.trim()));
+            }
+        }
+        return changedFiles;
+    }
+
+    private static DiffReportWriter createReportWriter(
+            final String reportFormat,
+            final Optional<String> reportFilePath,
+            final boolean printFolderPaths
+    ) throws IOException {
+        final Charset stdoutCharset = REPORT_FORMAT_TEXT.equals(reportFormat) ? Charset.defaultCharset() : StandardCharsets.UTF_8;
+        final Writer writer = reportFilePath.isPresent()
+                ? Files.newBufferedWriter(Paths.get(reportFilePath.get()), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, stdoutCharset));
+        switch (reportFormat) {
+            case REPORT_FORMAT_TEXT:
+                return new TextDiffReportWriter(writer, printFolderPaths);
+            case REPORT_FORMAT_JSON_LINES:
+                return new JsonLinesDiffReportWriter(writer);
+            case REPORT_FORMAT_SARIF:
+                return new SarifDiffReportWriter(writer);
+            default:
+                writer.close();
+                throw new IllegalArgumentException(CMD_ARG_REPORT_KEY + reportFormat);
+        }
+    }
+
+    private static boolean processFolders(
+            final List<String> folderPaths,
+            final TranslationFolderWrapper coreWrapper,
+            final TranslationFormatterOptions options,
+            final DiffReportWriter reportWriter,
+            final boolean applyChangesOnDisk
+    ) throws IOException {
+        boolean hasDiffs = false;
+        if (folderPaths.size() == 1 || options.getThreads() <= 1) {
+            for (final String folderPath : folderPaths) {
+                final TranslationFolderWrapper translationFolderWrapper = new TranslationFolderWrapper(folderPath, null, coreWrapper, options, reportWriter);
+                if (applyChangesOnDisk) {
+                    translationFolderWrapper.applyChangesOnDisk();
+                }
+                hasDiffs |= translationFolderWrapper.hasDiffs();
+            }
+            return hasDiffs;
+        }
+        final TranslationFormatterOptions folderOptions = options.copy();
+        folderOptions.setThreads(1);
+        final int maxPendingFolders = Math.min(options.getThreads(), folderPaths.size());
+        final ExecutorService executorService = Executors.newFixedThreadPool(maxPendingFolders);
+        try {
+            final Deque<Future<DiffReportBuffer>> futures = new ArrayDeque<>();
+            final Iterator<String> folderPathIterator = folderPaths.iterator();
+            while (folderPathIterator.hasNext() || !futures.isEmpty()) {
+                while (folderPathIterator.hasNext() && futures.size() < maxPendingFolders) {
+                    final String folderPath = folderPathIterator.next();
+                    futures.add(executorService.submit(() -> {
+                        final DiffReportBuffer reportBuffer = new DiffReportBuffer();
+                        final TranslationFolderWrapper translationFolderWrapper = new TranslationFolderWrapper(folderPath, null, coreWrapper, folderOptions, reportBuffer);
+                        if (applyChangesOnDisk) {
+                            translationFolderWrapper.applyChangesOnDisk();
+                        }
+                        return reportBuffer;
+                    }));
+                }
+                final DiffReportBuffer reportBuffer = futures.poll().get();
+                reportBuffer.writeTo(reportWriter);
+                hasDiffs |= reportBuffer.hasFindings();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+        return hasDiffs;
+    }
+
     public static void main(final String[] args) throws IOException {
-        final boolean applyChangesOnDisk = getCmdArg(args, CMD_ARG_APPLY_CHANGES_ON_DISK_KEY, TRUE).equals(TRUE);
-        final boolean removeIfKeyExistsInCore = getCmdArg(args, CMD_ARG_REMOVE_IF_KEY_EXISTS_IN_CORE_KEY, TRUE).equals(TRUE);
-        final boolean removeIfKeyNotInUse = getCmdArg(args, CMD_ARG_REMOVE_IF_KEY_NOT_IN_USE_KEY, FALSE).equals(TRUE);
-        final String folderPath = getCmdArg(args, CMD_ARG_PATH_KEY).orElseThrow(FileNotFoundException::new);
-        final String coreMessagesFolderPath = getCmdArg(args, CMD_ARG_CORE_PATH_KEY).orElseThrow(FileNotFoundException::new);
-        TranslationFolderWrapper translationFolderWrapper = new TranslationFolderWrapper(
-                folderPath,
-                coreMessagesFolderPath,
-                removeIfKeyExistsInCore,
-                removeIfKeyNotInUse
+        final Optional<String> changed = getCmdArg(args, CMD_ARG_CHANGED_KEY);
+        final LanguageCheckMode defaultLanguageCheckMode = changed.isPresent() ? LanguageCheckMode.FAST : LanguageCheckMode.ACCURATE;
+        final LanguageCheckMode languageCheckMode = LanguageCheckMode.valueOf(
+                getCmdArg(args, CMD_ARG_LANGUAGE_CHECK_MODE_KEY, defaultLanguageCheckMode.name()).toUpperCase(Locale.ROOT)
         );
-        translationFolderWrapper.displayDiffs();
-        if (applyChangesOnDisk) {
-            translationFolderWrapper.applyChangesOnDisk();
+        final boolean watch = getCmdArg(args, CMD_ARG_WATCH_KEY, FALSE).equals(TRUE);
+        final Optional<String> profileFormat = getCmdArg(args, CMD_ARG_PROFILE_KEY);
+        if (profileFormat.isPresent() && !PROFILE_FORMAT_JSON.equals(profileFormat.get())) {
+            throw new IllegalArgumentException(CMD_ARG_PROFILE_KEY + profileFormat.get());
+        }
+        final String reportFormat = getCmdArg(args, CMD_ARG_REPORT_KEY, REPORT_FORMAT_TEXT);
+        if (watch && REPORT_FORMAT_SARIF.equals(reportFormat)) {
+            throw new IllegalArgumentException(CMD_ARG_WATCH_KEY + TRUE + " does not support " + CMD_ARG_REPORT_KEY + REPORT_FORMAT_SARIF);
+        }
+        if (watch && changed.isPresent()) {
+            throw new IllegalArgumentException(CMD_ARG_WATCH_KEY + TRUE + " does not support " + CMD_ARG_CHANGED_KEY);
+        }
+        final boolean reportOnly = watch || changed.isPresent();
+        final boolean applyChangesOnDisk = !reportOnly && getCmdArg(args, CMD_ARG_APPLY_CHANGES_ON_DISK_KEY, TRUE).equals(TRUE);
+        final boolean removeIfKeyExistsInCore = !reportOnly && getCmdArg(args, CMD_ARG_REMOVE_IF_KEY_EXISTS_IN_CORE_KEY, TRUE).equals(TRUE);
+        final boolean removeIfKeyNotInUse = !reportOnly && getCmdArg(args, CMD_ARG_REMOVE_IF_KEY_NOT_IN_USE_KEY, FALSE).equals(TRUE);
+        final int threads = Integer.parseInt(getCmdArg(args, CMD_ARG_THREADS_KEY, "1"));
+        final String coreMessagesFolderPath = getCmdArg(args, CMD_ARG_CORE_PATH_KEY).orElseThrow(FileNotFoundException::new);
+        final List<String> folderPaths = getFolderPaths(args, coreMessagesFolderPath);
+        if (watch && folderPaths.size() > 1) {
+            throw new IllegalArgumentException(CMD_ARG_WATCH_KEY + TRUE + " supports a single folder only");
+        }
+        final List<File> changedFiles = changed.isPresent() ? getChangedFiles(changed.get()) : null;
+        if (changedFiles != null) {
+            folderPaths.removeIf(folderPath -> !TranslationFolderWrapper.isAffectedBy(folderPath, changedFiles));
+            if (folderPaths.isEmpty()) {
+                return;
+            }
+        }
+        final TranslationFormatterOptions options = new TranslationFormatterOptions();
+        options.setRemoveIfKeyExistsInCore(removeIfKeyExistsInCore);
+        options.setRemoveIfKeyNotInUse(removeIfKeyNotInUse);
+        options.setThreads(threads);
+        options.setLanguageCheckMode(languageCheckMode);
+        options.setWatch(watch);
+        getCmdArg(args, CMD_ARG_USAGE_CACHE_KEY).map(File::new).ifPresent(options::setUsageCacheFile);
+        getCmdArg(args, CMD_ARG_MAX_SOURCE_FILE_SIZE_KEY).map(Long::parseLong).ifPresent(options::setMaxSourceFileSize);
+        getCmdArg(args, CMD_ARG_EXCLUDE_SOURCES_KEY).map(App::getExcludeSourceGlobs).ifPresent(options::setExcludeSourceGlobs);
+        options.setChangedFiles(changedFiles);
+        final TranslationFolderWrapper coreWrapper = TranslationFolderWrapper.loadCore(coreMessagesFolderPath, options);
+        final boolean hasDiffs;
+        try (final DiffReportWriter reportWriter = createReportWriter(
+                reportFormat,
+                getCmdArg(args, CMD_ARG_REPORT_FILE_KEY),
+                folderPaths.size() > 1
+        )) {
+            if (watch) {
+                final TranslationFolderWrapper translationFolderWrapper = new TranslationFolderWrapper(folderPaths.get(0), null, coreWrapper, options, reportWriter);
+                reportWriter.flush();
+                new TranslationFolderWatcher(translationFolderWrapper, reportWriter).watch();
+                hasDiffs = translationFolderWrapper.hasDiffs();
+            } else {
+                hasDiffs = processFolders(folderPaths, coreWrapper, options, reportWriter, applyChangesOnDisk);
+            }
+        }
+        if (profileFormat.isPresent()) {
+            System.err.println(options.getRunProfile().toJson());
+        }
+        if (changedFiles != null && hasDiffs) {
+            System.exit(1);
         }
     }
 }
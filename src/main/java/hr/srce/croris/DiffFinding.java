@@ -0,0 +1,81 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.util.List;
+
+public class DiffFinding {
+    private final String langCode;
+    private final File translationFile;
+    private final String type;
+    private final String description;
+    private final String value;
+    private final List<String> keys;
+    private final List<String> missingLangCodes;
+
+    public DiffFinding(
+            final String langCode,
+            final File translationFile,
+            final String type,
+            final String description,
+            final String value,
+            final List<String> keys
+    ) {
+        this(langCode, translationFile, type, description, value, keys, List.of());
+    }
+
+    public DiffFinding(
+            final String langCode,
+            final File translationFile,
+            final String type,
+            final String description,
+            final String value,
+            final List<String> keys,
+            final List<String> missingLangCodes
+    ) {
+        this.langCode = langCode;
+        this.translationFile = translationFile;
+        this.type = type;
+        this.description = description;
+        this.value = value;
+        this.keys = List.copyOf(keys);
+        this.missingLangCodes = List.copyOf(missingLangCodes);
+    }
+
+    public String getLangCode() {
+        return langCode;
+    }
+
+    public File getTranslationFile() {
+        return translationFile;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public List<String> getMissingLangCodes() {
+        return missingLangCodes;
+    }
+
+    public String getSubject() {
+        if (this.value != null) {
+            return this.value + TranslationFolderWrapper.DUPLICATE_VALUE_KEYS_SEPARATOR + String.join(", ", this.keys);
+        }
+        if (!this.missingLangCodes.isEmpty()) {
+            return this.keys.get(0) + TranslationFolderWrapper.DUPLICATE_VALUE_KEYS_SEPARATOR + String.join(", ", this.missingLangCodes);
+        }
+        return this.keys.get(0);
+    }
+}
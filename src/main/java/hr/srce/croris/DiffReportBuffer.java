@@ -0,0 +1,55 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+class DiffReportBuffer implements DiffReportWriter {
+    private final List<ReportEvent> events = new ArrayList<>();
+    private boolean hasFindings;
+
+    @Override
+    public void startFolder(final File folder) {
+        this.events.add(reportWriter -> reportWriter.startFolder(folder));
+    }
+
+    @Override
+    public void startLanguage(final String langCode) {
+        this.events.add(reportWriter -> reportWriter.startLanguage(langCode));
+    }
+
+    @Override
+    public void writeFinding(final DiffFinding finding) {
+        this.hasFindings = true;
+        this.events.add(reportWriter -> reportWriter.writeFinding(finding));
+    }
+
+    @Override
+    public void endFolder() {
+        this.events.add(DiffReportWriter::endFolder);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public boolean hasFindings() {
+        return this.hasFindings;
+    }
+
+    public void writeTo(final DiffReportWriter reportWriter) throws IOException {
+        for (final ReportEvent event : this.events) {
+            event.writeTo(reportWriter);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReportEvent {
+        void writeTo(DiffReportWriter reportWriter) throws IOException;
+    }
+}
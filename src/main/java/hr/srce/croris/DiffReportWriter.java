@@ -0,0 +1,16 @@
+package hr.srce.croris;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+
+public interface DiffReportWriter extends Closeable, Flushable {
+    void startFolder(File folder) throws IOException;
+
+    void startLanguage(String langCode) throws IOException;
+
+    void writeFinding(DiffFinding finding) throws IOException;
+
+    void endFolder() throws IOException;
+}
@@ -0,0 +1,44 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+public final class GitHeadRevision {
+    private static final String GIT_COMMAND = "git";
+    private static final String HEAD_PATH_PREFIX = "HEAD:./";
+
+    private GitHeadRevision() {
+    }
+
+    public static byte[] read(final File file) throws IOException {
+        File workingFolder = file.getAbsoluteFile().getParentFile();
+        while (workingFolder != null && !workingFolder.isDirectory()) {
+            workingFolder = workingFolder.getParentFile();
+        }
+        if (workingFolder == null) {
+            return null;
+        }
+        final String relativePath = workingFolder.toPath().relativize(file.getAbsoluteFile().toPath()).toString()
+                .replace(File.separatorChar, '/');
+        final Process process;
+        try {
+            process = new ProcessBuilder(GIT_COMMAND, "show", HEAD_PATH_PREFIX + relativePath)
+                    .directory(workingFolder)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+        } catch (IOException e) {
+            return null;
+        }
+        try (final InputStream input = process.getInputStream()) {
+            final byte[] content = input.readAllBytes();
+            return process.waitFor() == 0 ? content : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            process.destroy();
+        }
+    }
+}
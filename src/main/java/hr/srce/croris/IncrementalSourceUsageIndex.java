@@ -0,0 +1,263 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.*;
+
+public class IncrementalSourceUsageIndex extends SourceUsageIndex {
+    private final File srcFolder;
+    private final SourceFileFilter sourceFileFilter;
+    private final List<String> keys = new ArrayList<>();
+    private final Map<String, Integer> keyIndexes = new HashMap<>();
+    private final Map<File, int[]> keyIndexesByFile = new HashMap<>();
+    private final Map<String, Token> tokens = new HashMap<>();
+    private final Map<File, Token[]> tokensByFile = new HashMap<>();
+    private int[] usageCounts = new int[0];
+    private KeyMatcher keyMatcher = new KeyMatcher(Collections.emptyList());
+
+    private IncrementalSourceUsageIndex(final File srcFolder, final SourceFileFilter sourceFileFilter) {
+        super(Collections.emptySet());
+        this.srcFolder = srcFolder;
+        this.sourceFileFilter = sourceFileFilter;
+    }
+
+    public static IncrementalSourceUsageIndex build(
+            final File srcFolder,
+            final Collection<String> keys,
+            final TranslationFormatterOptions options
+    ) throws IOException {
+        final SourceFileFilter sourceFileFilter = SourceFileFilter.create(srcFolder, options);
+        final IncrementalSourceUsageIndex sourceUsageIndex = new IncrementalSourceUsageIndex(srcFolder, sourceFileFilter);
+        final List<File> sourceFiles = new ArrayList<>();
+        collectSourceFiles(srcFolder, sourceFileFilter, sourceFiles);
+        for (final File sourceFile : sourceFiles) {
+            final ByteBuffer content = readContentIfPresent(sourceFile);
+            if (content != null) {
+                sourceUsageIndex.keyIndexesByFile.put(sourceFile.getAbsoluteFile(), new int[0]);
+                sourceUsageIndex.addTokens(sourceFile.getAbsoluteFile(), tokenize(content));
+            }
+        }
+        sourceUsageIndex.addKeys(keys);
+        return sourceUsageIndex;
+    }
+
+    public File getSrcFolder() {
+        return srcFolder;
+    }
+
+    @Override
+    protected synchronized boolean isKeyFound(final String key) {
+        final Integer keyIndex = this.keyIndexes.get(key);
+        return keyIndex != null && this.usageCounts[keyIndex] > 0;
+    }
+
+    public synchronized Set<String> addKeys(final Collection<String> keys) throws IOException {
+        final List<String> newKeys = new ArrayList<>();
+        for (final String key : getSearchableKeys(keys)) {
+            if (!this.keyIndexes.containsKey(key)) {
+                newKeys.add(key);
+            }
+        }
+        if (newKeys.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final Map<File, BitSet> foundKeysByFile = this.findKeysInFiles(newKeys);
+
+        final int firstNewKeyIndex = this.keys.size();
+        for (final String newKey : newKeys) {
+            this.keyIndexes.put(newKey, this.keys.size());
+            this.keys.add(newKey);
+        }
+        this.usageCounts = Arrays.copyOf(this.usageCounts, this.keys.size());
+        this.keyMatcher = new KeyMatcher(this.keys);
+        foundKeysByFile.forEach((sourceFile, foundKeys) -> {
+            final int[] oldKeyIndexes = this.keyIndexesByFile.get(sourceFile);
+            final int[] fileKeyIndexes = Arrays.copyOf(oldKeyIndexes, oldKeyIndexes.length + foundKeys.cardinality());
+            int i = oldKeyIndexes.length;
+            for (int newKeyIndex = foundKeys.nextSetBit(0); newKeyIndex >= 0; newKeyIndex = foundKeys.nextSetBit(newKeyIndex + 1)) {
+                fileKeyIndexes[i++] = firstNewKeyIndex + newKeyIndex;
+                this.usageCounts[firstNewKeyIndex + newKeyIndex]++;
+            }
+            this.keyIndexesByFile.put(sourceFile, fileKeyIndexes);
+        });
+        return new HashSet<>(newKeys);
+    }
+
+    private Map<File, BitSet> findKeysInFiles(final List<String> newKeys) throws IOException {
+        final Map<File, BitSet> foundKeysByFile = new HashMap<>();
+        final List<String> tokenKeys = new ArrayList<>();
+        final List<String> otherKeys = new ArrayList<>();
+        final int[] tokenKeyIndexes = new int[newKeys.size()];
+        final int[] otherKeyIndexes = new int[newKeys.size()];
+        for (int newKeyIndex = 0; newKeyIndex < newKeys.size(); newKeyIndex++) {
+            final String newKey = newKeys.get(newKeyIndex);
+            if (isTokenKey(newKey)) {
+                tokenKeyIndexes[tokenKeys.size()] = newKeyIndex;
+                tokenKeys.add(newKey);
+            } else {
+                otherKeyIndexes[otherKeys.size()] = newKeyIndex;
+                otherKeys.add(newKey);
+            }
+        }
+
+        if (!tokenKeys.isEmpty()) {
+            final KeyMatcher tokenKeyMatcher = new KeyMatcher(tokenKeys);
+            final BitSet foundTokenKeys = new BitSet(tokenKeys.size());
+            for (final Token token : this.tokens.values()) {
+                tokenKeyMatcher.scan(token.value.getBytes(StandardCharsets.ISO_8859_1), foundTokenKeys);
+                if (foundTokenKeys.isEmpty()) {
+                    continue;
+                }
+                for (final File sourceFile : token.files) {
+                    final BitSet foundKeys = foundKeysByFile.computeIfAbsent(sourceFile, file -> new BitSet(newKeys.size()));
+                    for (int i = foundTokenKeys.nextSetBit(0); i >= 0; i = foundTokenKeys.nextSetBit(i + 1)) {
+                        foundKeys.set(tokenKeyIndexes[i]);
+                    }
+                }
+                foundTokenKeys.clear();
+            }
+        }
+
+        if (!otherKeys.isEmpty()) {
+            final KeyMatcher otherKeyMatcher = new KeyMatcher(otherKeys);
+            for (final File sourceFile : this.keyIndexesByFile.keySet()) {
+                final ByteBuffer content = readContentIfPresent(sourceFile);
+                if (content == null) {
+                    continue;
+                }
+                final BitSet foundOtherKeys = new BitSet(otherKeys.size());
+                otherKeyMatcher.scan(content, foundOtherKeys);
+                if (foundOtherKeys.isEmpty()) {
+                    continue;
+                }
+                final BitSet foundKeys = foundKeysByFile.computeIfAbsent(sourceFile, file -> new BitSet(newKeys.size()));
+                for (int i = foundOtherKeys.nextSetBit(0); i >= 0; i = foundOtherKeys.nextSetBit(i + 1)) {
+                    foundKeys.set(otherKeyIndexes[i]);
+                }
+            }
+        }
+        return foundKeysByFile;
+    }
+
+    public synchronized Set<String> updateSourceFile(final File file) throws IOException {
+        final File sourceFile = file.getAbsoluteFile();
+        final ByteBuffer content = sourceFile.isFile() && this.sourceFileFilter.acceptFile(sourceFile)
+                ? readContentIfPresent(sourceFile)
+                : null;
+        Set<String> fileTokens = null;
+        int[] fileKeyIndexes = null;
+        if (content != null) {
+            fileTokens = tokenize(content);
+            final BitSet foundKeys = new BitSet(this.keys.size());
+            this.keyMatcher.scan(content, foundKeys);
+            fileKeyIndexes = foundKeys.stream().toArray();
+        }
+
+        final Set<String> changedKeys = new HashSet<>();
+        final int[] oldKeyIndexes = this.keyIndexesByFile.remove(sourceFile);
+        if (oldKeyIndexes != null) {
+            for (final int keyIndex : oldKeyIndexes) {
+                if (--this.usageCounts[keyIndex] == 0) {
+                    changedKeys.add(this.keys.get(keyIndex));
+                }
+            }
+        }
+        this.removeTokens(sourceFile);
+        if (fileKeyIndexes == null) {
+            return changedKeys;
+        }
+        for (final int keyIndex : fileKeyIndexes) {
+            if (this.usageCounts[keyIndex]++ == 0 && !changedKeys.remove(this.keys.get(keyIndex))) {
+                changedKeys.add(this.keys.get(keyIndex));
+            }
+        }
+        this.keyIndexesByFile.put(sourceFile, fileKeyIndexes);
+        this.addTokens(sourceFile, fileTokens);
+        return changedKeys;
+    }
+
+    private void addTokens(final File sourceFile, final Set<String> fileTokens) {
+        final Token[] tokens = new Token[fileTokens.size()];
+        int i = 0;
+        for (final String fileToken : fileTokens) {
+            final Token token = this.tokens.computeIfAbsent(fileToken, Token::new);
+            token.files.add(sourceFile);
+            tokens[i++] = token;
+        }
+        this.tokensByFile.put(sourceFile, tokens);
+    }
+
+    private void removeTokens(final File sourceFile) {
+        final Token[] tokens = this.tokensByFile.remove(sourceFile);
+        if (tokens == null) {
+            return;
+        }
+        for (final Token token : tokens) {
+            token.files.remove(sourceFile);
+            if (token.files.isEmpty()) {
+                this.tokens.remove(token.value);
+            }
+        }
+    }
+
+    private static ByteBuffer readContentIfPresent(final File sourceFile) throws IOException {
+        try {
+            return readContent(sourceFile);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static boolean isTokenByte(final byte b) {
+        return b < 0
+                || (b >= 'a' && b <= 'z')
+                || (b >= 'A' && b <= 'Z')
+                || (b >= '0' && b <= '9')
+                || b == '.'
+                || b == '_'
+                || b == '-';
+    }
+
+    private static boolean isTokenKey(final String key) {
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length == 0) {
+            return false;
+        }
+        for (final byte b : keyBytes) {
+            if (!isTokenByte(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> tokenize(final ByteBuffer content) {
+        final Set<String> tokens = new HashSet<>();
+        final StringBuilder token = new StringBuilder();
+        for (int i = content.position(); i < content.limit(); i++) {
+            final byte b = content.get(i);
+            if (isTokenByte(b)) {
+                token.append((char) (b & 0xFF));
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static class Token {
+        private final String value;
+        private final Set<File> files = new HashSet<>();
+
+        private Token(final String value) {
+            this.value = value;
+        }
+    }
+}
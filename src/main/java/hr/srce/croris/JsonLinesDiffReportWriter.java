@@ -0,0 +1,77 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+
+public class JsonLinesDiffReportWriter implements DiffReportWriter {
+    private final Writer writer;
+    private File folder;
+
+    public JsonLinesDiffReportWriter(final Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void startFolder(final File folder) {
+        this.folder = folder;
+    }
+
+    @Override
+    public void startLanguage(final String langCode) {
+    }
+
+    @Override
+    public void writeFinding(final DiffFinding finding) throws IOException {
+        this.writer.write("{\"folder\":");
+        JsonStrings.appendQuoted(this.writer, this.folder.getPath());
+        this.writer.write(",\"file\":");
+        JsonStrings.appendQuoted(this.writer, finding.getTranslationFile().getPath());
+        this.writer.write(",\"language\":");
+        JsonStrings.appendQuoted(this.writer, finding.getLangCode());
+        this.writer.write(",\"type\":");
+        JsonStrings.appendQuoted(this.writer, finding.getType());
+        this.writer.write(",\"message\":");
+        JsonStrings.appendQuoted(this.writer, finding.getDescription());
+        if (finding.getValue() != null) {
+            this.writer.write(",\"value\":");
+            JsonStrings.appendQuoted(this.writer, finding.getValue());
+            this.writer.write(",\"keys\":[");
+            for (int i = 0; i < finding.getKeys().size(); i++) {
+                if (i > 0) {
+                    this.writer.write(',');
+                }
+                JsonStrings.appendQuoted(this.writer, finding.getKeys().get(i));
+            }
+            this.writer.write(']');
+        } else {
+            this.writer.write(",\"key\":");
+            JsonStrings.appendQuoted(this.writer, finding.getKeys().get(0));
+        }
+        if (!finding.getMissingLangCodes().isEmpty()) {
+            this.writer.write(",\"missingLanguages\":[");
+            for (int i = 0; i < finding.getMissingLangCodes().size(); i++) {
+                if (i > 0) {
+                    this.writer.write(',');
+                }
+                JsonStrings.appendQuoted(this.writer, finding.getMissingLangCodes().get(i));
+            }
+            this.writer.write(']');
+        }
+        this.writer.write("}\n");
+    }
+
+    @Override
+    public void endFolder() {
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+}
@@ -0,0 +1,42 @@
+package hr.srce.croris;
+
+import java.io.IOException;
+
+final class JsonStrings {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private JsonStrings() {
+    }
+
+    static void appendQuoted(final Appendable target, final String string) throws IOException {
+        target.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            final char ch = string.charAt(i);
+            switch (ch) {
+                case '"':
+                    target.append("\\\"");
+                    break;
+                case '\\':
+                    target.append("\\\\");
+                    break;
+                case '\n':
+                    target.append("\\n");
+                    break;
+                case '\r':
+                    target.append("\\r");
+                    break;
+                case '\t':
+                    target.append("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        target.append("\\u00").append(HEX_DIGITS[ch >> 4]).append(HEX_DIGITS[ch & 0xF]);
+                    } else {
+                        target.append(ch);
+                    }
+                    break;
+            }
+        }
+        target.append('"');
+    }
+}
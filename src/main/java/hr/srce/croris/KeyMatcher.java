@@ -0,0 +1,144 @@
+package hr.srce.croris;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class KeyMatcher {
+    private static final int ROOT = 0;
+    private static final int NO_KEY = -1;
+    private static final int BYTE_VALUES_COUNT = 256;
+
+    private final List<String> keys;
+    private final byte[][] transitionBytes;
+    private final int[][] transitionTargets;
+    private final int[] rootTransitions = new int[BYTE_VALUES_COUNT];
+    private final int[] failureLinks;
+    private final int[] keyIndexes;
+    private final int[] outputLinks;
+    private final int emptyKeyIndex;
+
+    public KeyMatcher(final List<String> keys) {
+        this.keys = List.copyOf(keys);
+        final List<Map<Byte, Integer>> trie = new ArrayList<>();
+        final List<Integer> trieKeyIndexes = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        trieKeyIndexes.add(NO_KEY);
+        int emptyKey = NO_KEY;
+        for (int keyIndex = 0; keyIndex < this.keys.size(); keyIndex++) {
+            final byte[] key = this.keys.get(keyIndex).getBytes(StandardCharsets.UTF_8);
+            if (key.length == 0) {
+                emptyKey = keyIndex;
+                continue;
+            }
+            int state = ROOT;
+            for (final byte b : key) {
+                final Integer next = trie.get(state).get(b);
+                if (next == null) {
+                    trie.get(state).put(b, trie.size());
+                    state = trie.size();
+                    trie.add(new TreeMap<>());
+                    trieKeyIndexes.add(NO_KEY);
+                } else {
+                    state = next;
+                }
+            }
+            trieKeyIndexes.set(state, keyIndex);
+        }
+        this.emptyKeyIndex = emptyKey;
+
+        final int stateCount = trie.size();
+        this.transitionBytes = new byte[stateCount][];
+        this.transitionTargets = new int[stateCount][];
+        this.failureLinks = new int[stateCount];
+        this.keyIndexes = new int[stateCount];
+        this.outputLinks = new int[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            final Map<Byte, Integer> children = trie.get(state);
+            this.transitionBytes[state] = new byte[children.size()];
+            this.transitionTargets[state] = new int[children.size()];
+            int i = 0;
+            for (final Map.Entry<Byte, Integer> child : children.entrySet()) {
+                this.transitionBytes[state][i] = child.getKey();
+                this.transitionTargets[state][i] = child.getValue();
+                i++;
+            }
+            this.keyIndexes[state] = trieKeyIndexes.get(state);
+        }
+        Arrays.fill(this.rootTransitions, ROOT);
+        for (int i = 0; i < this.transitionBytes[ROOT].length; i++) {
+            this.rootTransitions[this.transitionBytes[ROOT][i] & 0xFF] = this.transitionTargets[ROOT][i];
+        }
+
+        this.outputLinks[ROOT] = NO_KEY;
+        final Deque<Integer> queue = new ArrayDeque<>();
+        for (final int child : this.transitionTargets[ROOT]) {
+            this.failureLinks[child] = ROOT;
+            this.outputLinks[child] = NO_KEY;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            for (int i = 0; i < this.transitionBytes[state].length; i++) {
+                final byte b = this.transitionBytes[state][i];
+                final int child = this.transitionTargets[state][i];
+                final int failure = this.next(this.failureLinks[state], b);
+                this.failureLinks[child] = failure;
+                this.outputLinks[child] = this.keyIndexes[failure] != NO_KEY ? failure : this.outputLinks[failure];
+                queue.add(child);
+            }
+        }
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    private int transition(final int state, final byte b) {
+        final int index = Arrays.binarySearch(this.transitionBytes[state], b);
+        return index < 0 ? NO_KEY : this.transitionTargets[state][index];
+    }
+
+    private int next(int state, final byte b) {
+        while (state != ROOT) {
+            final int target = this.transition(state, b);
+            if (target != NO_KEY) {
+                return target;
+            }
+            state = this.failureLinks[state];
+        }
+        return this.rootTransitions[b & 0xFF];
+    }
+
+    private int step(final int state, final byte b, final BitSet foundKeys) {
+        final int nextState = this.next(state, b);
+        int output = this.keyIndexes[nextState] != NO_KEY ? nextState : this.outputLinks[nextState];
+        while (output != NO_KEY) {
+            foundKeys.set(this.keyIndexes[output]);
+            output = this.outputLinks[output];
+        }
+        return nextState;
+    }
+
+    public void scan(final byte[] content, final BitSet foundKeys) {
+        this.scan(ByteBuffer.wrap(content), foundKeys);
+    }
+
+    public void scan(final ByteBuffer content, final BitSet foundKeys) {
+        if (this.emptyKeyIndex != NO_KEY) {
+            foundKeys.set(this.emptyKeyIndex);
+        }
+        int state = ROOT;
+        if (content.hasArray()) {
+            final byte[] array = content.array();
+            final int end = content.arrayOffset() + content.limit();
+            for (int i = content.arrayOffset() + content.position(); i < end; i++) {
+                state = this.step(state, array[i], foundKeys);
+            }
+            return;
+        }
+        for (int i = content.position(); i < content.limit(); i++) {
+            state = this.step(state, content.get(i), foundKeys);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package hr.srce.croris;
+
+public enum LanguageCheckMode {
+    FAST,
+    ACCURATE
+}
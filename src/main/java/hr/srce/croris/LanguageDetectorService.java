@@ -0,0 +1,100 @@
+package hr.srce.croris;
+
+import com.github.pemistahl.lingua.api.Language;
+import com.github.pemistahl.lingua.api.LanguageDetector;
+import com.github.pemistahl.lingua.api.LanguageDetectorBuilder;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class LanguageDetectorService {
+    private static final int MAX_CACHED_VALUES_COUNT = 10000;
+    private static final Map<String, Language> LANGUAGES_MAP = Map.ofEntries(
+            new AbstractMap.SimpleEntry<>("en", Language.ENGLISH),
+            new AbstractMap.SimpleEntry<>("hr", Language.CROATIAN)
+    );
+    private static final Map<LanguageCheckMode, LanguageDetectorService> INSTANCES = new EnumMap<>(Map.of(
+            LanguageCheckMode.FAST, new LanguageDetectorService(LanguageCheckMode.FAST),
+            LanguageCheckMode.ACCURATE, new LanguageDetectorService(LanguageCheckMode.ACCURATE)
+    ));
+
+    private final Map<String, SortedMap<Language, Double>> confidenceValuesCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, SortedMap<Language, Double>> eldest) {
+                    return size() > MAX_CACHED_VALUES_COUNT;
+                }
+            }
+    );
+    private final LanguageCheckMode languageCheckMode;
+    private CompletableFuture<LanguageDetector> languageDetector;
+
+    private LanguageDetectorService(final LanguageCheckMode languageCheckMode) {
+        this.languageCheckMode = languageCheckMode;
+    }
+
+    public static LanguageDetectorService getInstance(final LanguageCheckMode languageCheckMode) {
+        return INSTANCES.get(languageCheckMode);
+    }
+
+    public static Language getLanguage(final String langCode) {
+        return LANGUAGES_MAP.get(langCode);
+    }
+
+    private LanguageDetectorBuilder createLanguageDetectorBuilder() {
+        final LanguageDetectorBuilder languageDetectorBuilder = LanguageDetectorBuilder.fromLanguages(
+                LANGUAGES_MAP.values().toArray(new Language[0])
+        );
+        if (this.languageCheckMode == LanguageCheckMode.FAST) {
+            languageDetectorBuilder.withLowAccuracyMode();
+        }
+        return languageDetectorBuilder;
+    }
+
+    public synchronized void preloadInBackground() {
+        if (this.languageDetector == null) {
+            this.languageDetector = CompletableFuture.supplyAsync(() ->
+                    createLanguageDetectorBuilder().withPreloadedLanguageModels().build()
+            );
+        }
+    }
+
+    private synchronized CompletableFuture<LanguageDetector> getLanguageDetector() {
+        if (this.languageDetector == null) {
+            this.languageDetector = CompletableFuture.completedFuture(createLanguageDetectorBuilder().build());
+        }
+        return this.languageDetector;
+    }
+
+    SortedMap<Language, Double> getCachedLanguageConfidenceValues(final String value) {
+        return this.confidenceValuesCache.get(value);
+    }
+
+    public SortedMap<Language, Double> computeLanguageConfidenceValues(final String value) {
+        final SortedMap<Language, Double> cachedConfidenceValues = this.confidenceValuesCache.get(value);
+        if (cachedConfidenceValues != null) {
+            return cachedConfidenceValues;
+        }
+        final SortedMap<Language, Double> confidenceValues = Collections.unmodifiableSortedMap(
+                this.getLanguageDetector().join().computeLanguageConfidenceValues(value)
+        );
+        this.confidenceValuesCache.put(value, confidenceValues);
+        return confidenceValues;
+    }
+
+    void clearCache() {
+        this.confidenceValuesCache.clear();
+    }
+
+    static Language detectLanguageOf(final SortedMap<Language, Double> confidenceValues) {
+        if (confidenceValues.isEmpty()) {
+            return Language.UNKNOWN;
+        }
+        final Iterator<Map.Entry<Language, Double>> iterator = confidenceValues.entrySet().iterator();
+        final Map.Entry<Language, Double> mostLikely = iterator.next();
+        if (iterator.hasNext() && iterator.next().getValue().equals(mostLikely.getValue())) {
+            return Language.UNKNOWN;
+        }
+        return mostLikely.getKey();
+    }
+}
@@ -0,0 +1,131 @@
+package hr.srce.croris;
+
+import com.github.pemistahl.lingua.api.Language;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+public class LanguageVerifier {
+    private static final Double MINIMUM_LANGUAGE_PROBABILITY = 0.75;
+    private static final int MINIMUM_DETECTABLE_LETTER_COUNT = 3;
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{[^}]*}");
+
+    private final LanguageDetectorService languageDetectorService;
+    private final int threads;
+    private final RunProfile runProfile;
+
+    public LanguageVerifier(final LanguageCheckMode languageCheckMode, final int threads, final RunProfile runProfile) {
+        this.languageDetectorService = LanguageDetectorService.getInstance(languageCheckMode);
+        this.threads = threads;
+        this.runProfile = runProfile;
+    }
+
+    public void preload(final Map<String, Map<String, String>> translationsByLangCode) {
+        for (final Map<String, String> translations : translationsByLangCode.values()) {
+            for (final String value : translations.values()) {
+                final String translationValue = value.trim();
+                if (!isTriviallyDecidable(translationValue)
+                        && this.languageDetectorService.getCachedLanguageConfidenceValues(translationValue) == null) {
+                    this.languageDetectorService.preloadInBackground();
+                    return;
+                }
+            }
+        }
+    }
+
+    public Map<String, Set<String>> findWrongLanguageKeys(final Map<String, Map<String, String>> translationsByLangCode) throws IOException {
+        final Set<String> detectableValues = new HashSet<>();
+        translationsByLangCode.values().forEach(translations -> translations.values().forEach(value -> {
+            final String translationValue = value.trim();
+            if (!isTriviallyDecidable(translationValue)) {
+                detectableValues.add(translationValue);
+            }
+        }));
+        final Map<String, SortedMap<Language, Double>> confidenceValuesByValue = this.computeLanguageConfidenceValues(detectableValues);
+
+        final Map<String, Set<String>> wrongLanguageKeys = new HashMap<>();
+        translationsByLangCode.forEach((langCode, translations) -> {
+            final Set<String> keys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            final Language language = LanguageDetectorService.getLanguage(langCode);
+            wrongLanguageKeys.put(langCode, keys);
+            if (language == null) {
+                return;
+            }
+            translations.forEach((translationKey, value) -> {
+                final SortedMap<Language, Double> confidenceValues = confidenceValuesByValue.get(value.trim());
+                if (confidenceValues != null && LanguageDetectorService.detectLanguageOf(confidenceValues) != language) {
+                    final Double languageProbability = confidenceValues.get(language);
+                    if (languageProbability == null || languageProbability < MINIMUM_LANGUAGE_PROBABILITY) {
+                        keys.add(translationKey);
+                    }
+                }
+            });
+        });
+        return wrongLanguageKeys;
+    }
+
+    private Map<String, SortedMap<Language, Double>> computeLanguageConfidenceValues(final Set<String> values) throws IOException {
+        final Map<String, SortedMap<Language, Double>> confidenceValuesByValue = new ConcurrentHashMap<>();
+        final Set<String> uncachedValues = new HashSet<>();
+        for (final String value : values) {
+            final SortedMap<Language, Double> cachedConfidenceValues = this.languageDetectorService.getCachedLanguageConfidenceValues(value);
+            if (cachedConfidenceValues != null) {
+                confidenceValuesByValue.put(value, cachedConfidenceValues);
+            } else {
+                uncachedValues.add(value);
+            }
+        }
+        this.runProfile.add(RunProfile.Counter.LANGUAGE_DETECTOR_CACHE_HITS, confidenceValuesByValue.size());
+        this.runProfile.add(RunProfile.Counter.LANGUAGE_DETECTOR_VALUES, uncachedValues.size());
+        if (uncachedValues.isEmpty()) {
+            return confidenceValuesByValue;
+        }
+        if (this.threads <= 1) {
+            uncachedValues.forEach(value -> confidenceValuesByValue.put(value, this.languageDetectorService.computeLanguageConfidenceValues(value)));
+            return confidenceValuesByValue;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(this.threads);
+        try {
+            pool.submit(() -> uncachedValues.parallelStream().forEach(this.runProfile.trackWorkerCpuTime(value ->
+                    confidenceValuesByValue.put(value, this.languageDetectorService.computeLanguageConfidenceValues(value))
+            ))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return confidenceValuesByValue;
+    }
+
+    private static boolean isTriviallyDecidable(final String value) {
+        if (value.isEmpty() || isStringUpperCase(value)) {
+            return true;
+        }
+        final String valueWithoutPlaceholders = PLACEHOLDER_PATTERN.matcher(value).replaceAll("");
+        int letterCount = 0;
+        for (int i = 0; i < valueWithoutPlaceholders.length(); i++) {
+            if (Character.isLetter(valueWithoutPlaceholders.charAt(i))) {
+                letterCount++;
+            }
+        }
+        return letterCount < MINIMUM_DETECTABLE_LETTER_COUNT;
+    }
+
+    private static boolean isStringUpperCase(final String str){
+        char[] charArray = str.toCharArray();
+        for (char ch : charArray) {
+            if (!Character.isWhitespace(ch) && !Character.isUpperCase(ch)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,149 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ParallelSourceScanner {
+    private static final int QUEUE_CAPACITY_PER_THREAD = 4;
+    private static final File END_OF_FILES = new File("");
+    private static final ByteBuffer END_OF_CONTENTS = ByteBuffer.allocate(0);
+
+    private final int threads;
+    private final BlockingQueue<File> files;
+    private final BlockingQueue<ByteBuffer> contents;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final RunProfile runProfile;
+    private final SourceFileFilter sourceFileFilter;
+
+    public ParallelSourceScanner(final int threads, final RunProfile runProfile, final SourceFileFilter sourceFileFilter) {
+        this.threads = threads;
+        this.runProfile = runProfile;
+        this.sourceFileFilter = sourceFileFilter;
+        this.files = new ArrayBlockingQueue<>(threads * QUEUE_CAPACITY_PER_THREAD);
+        this.contents = new ArrayBlockingQueue<>(threads * QUEUE_CAPACITY_PER_THREAD);
+    }
+
+    public BitSet scan(final File srcFolder, final KeyMatcher keyMatcher) throws IOException {
+        final ForkJoinPool walkerPool = new ForkJoinPool(this.threads);
+        final ExecutorService readerPool = Executors.newFixedThreadPool(this.threads);
+        final ExecutorService matcherPool = Executors.newFixedThreadPool(this.threads);
+        try {
+            final List<Future<?>> readers = new ArrayList<>();
+            final List<Future<BitSet>> matchers = new ArrayList<>();
+            for (int i = 0; i < this.threads; i++) {
+                readers.add(readerPool.submit(this.runProfile.trackWorkerCpuTime(this::readFiles)));
+                matchers.add(matcherPool.submit(this.runProfile.trackWorkerCpuTime(() -> this.matchContents(keyMatcher))));
+            }
+            walkerPool.invoke(new FolderWalker(srcFolder, this.sourceFileFilter));
+            for (int i = 0; i < this.threads; i++) {
+                this.files.put(END_OF_FILES);
+            }
+            for (final Future<?> reader : readers) {
+                reader.get();
+            }
+            for (int i = 0; i < this.threads; i++) {
+                this.contents.put(END_OF_CONTENTS);
+            }
+            final BitSet foundKeys = new BitSet(keyMatcher.getKeys().size());
+            for (final Future<BitSet> matcher : matchers) {
+                foundKeys.or(matcher.get());
+            }
+            final Throwable failure = this.failure.get();
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            if (failure != null) {
+                throw new IOException(failure);
+            }
+            return foundKeys;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            walkerPool.shutdownNow();
+            readerPool.shutdownNow();
+            matcherPool.shutdownNow();
+        }
+    }
+
+    private Void readFiles() throws InterruptedException {
+        File file;
+        while ((file = this.files.take()) != END_OF_FILES) {
+            if (this.failure.get() != null) {
+                continue;
+            }
+            try {
+                final ByteBuffer content = SourceUsageIndex.readContent(file);
+                this.runProfile.increment(RunProfile.Counter.SOURCE_FILES_SCANNED);
+                this.runProfile.add(RunProfile.Counter.SOURCE_BYTES_SCANNED, content.remaining());
+                this.contents.put(content);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Throwable e) {
+                this.failure.compareAndSet(null, e);
+            }
+        }
+        return null;
+    }
+
+    private BitSet matchContents(final KeyMatcher keyMatcher) throws InterruptedException {
+        final BitSet foundKeys = new BitSet(keyMatcher.getKeys().size());
+        ByteBuffer content;
+        while ((content = this.contents.take()) != END_OF_CONTENTS) {
+            if (this.failure.get() != null) {
+                continue;
+            }
+            try {
+                keyMatcher.scan(content, foundKeys);
+            } catch (Throwable e) {
+                this.failure.compareAndSet(null, e);
+            }
+        }
+        return foundKeys;
+    }
+
+    private class FolderWalker extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final File folder;
+        private final SourceFileFilter sourceFileFilter;
+
+        private FolderWalker(final File folder, final SourceFileFilter sourceFileFilter) {
+            this.folder = folder;
+            this.sourceFileFilter = sourceFileFilter;
+        }
+
+        @Override
+        protected void compute() {
+            final File[] folderFiles = this.folder.listFiles();
+            if (folderFiles == null) {
+                return;
+            }
+            final List<FolderWalker> subfolderWalkers = new ArrayList<>();
+            for (final File fileEntry : folderFiles) {
+                if (fileEntry.isDirectory()) {
+                    if (this.sourceFileFilter.acceptFolder(fileEntry)) {
+                        subfolderWalkers.add(new FolderWalker(fileEntry, this.sourceFileFilter));
+                    }
+                } else if (this.sourceFileFilter.acceptFile(fileEntry)) {
+                    try {
+                        ParallelSourceScanner.this.files.put(fileEntry);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+            invokeAll(subfolderWalkers);
+        }
+    }
+}
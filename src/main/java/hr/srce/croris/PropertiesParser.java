@@ -0,0 +1,248 @@
+package hr.srce.croris;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BiConsumer;
+
+public final class PropertiesParser {
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int UNICODE_ESCAPE_LENGTH = 4;
+
+    private static final int LINE_START = 0;
+    private static final int COMMENT = 1;
+    private static final int KEY = 2;
+    private static final int SEPARATOR = 3;
+    private static final int VALUE_START = 4;
+    private static final int VALUE = 5;
+
+    private PropertiesParser() {
+    }
+
+    public static void parse(final Path path, final BiConsumer<String, String> entryConsumer) throws IOException {
+        try (final Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            parse(reader, entryConsumer);
+        }
+    }
+
+    public static void parse(final Reader reader, final BiConsumer<String, String> entryConsumer) throws IOException {
+        final char[] buffer = new char[READ_BUFFER_SIZE];
+        final StringBuilder key = new StringBuilder();
+        final StringBuilder value = new StringBuilder();
+        int state = LINE_START;
+        boolean precedingBackslash = false;
+        boolean skipWhitespace = false;
+        boolean skipLineFeed = false;
+        int unicodeDigitsLeft = 0;
+        int unicodeValue = 0;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                final char ch = buffer[i];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (ch == '\n') {
+                        continue;
+                    }
+                }
+                if (skipWhitespace) {
+                    if (isWhitespace(ch)) {
+                        continue;
+                    }
+                    skipWhitespace = false;
+                }
+                if (unicodeDigitsLeft > 0) {
+                    final int digit = Character.digit(ch, 16);
+                    if (digit < 0) {
+                        throw new IOException("Malformed \\uxxxx encoding.");
+                    }
+                    unicodeValue = (unicodeValue << 4) | digit;
+                    if (--unicodeDigitsLeft == 0) {
+                        state = append(state, (char) unicodeValue, key, value);
+                    }
+                    continue;
+                }
+                if (ch == '\n' || ch == '\r') {
+                    skipLineFeed = ch == '\r';
+                    if (precedingBackslash) {
+                        precedingBackslash = false;
+                        skipWhitespace = true;
+                        continue;
+                    }
+                    if (state != LINE_START && state != COMMENT) {
+                        entryConsumer.accept(key.toString(), value.toString());
+                    }
+                    key.setLength(0);
+                    value.setLength(0);
+                    state = LINE_START;
+                    continue;
+                }
+                if (precedingBackslash) {
+                    precedingBackslash = false;
+                    if (ch == 'u') {
+                        unicodeDigitsLeft = UNICODE_ESCAPE_LENGTH;
+                        unicodeValue = 0;
+                    } else {
+                        state = append(state, unescape(ch), key, value);
+                    }
+                    continue;
+                }
+                switch (state) {
+                    case LINE_START:
+                        if (isWhitespace(ch)) {
+                            break;
+                        }
+                        if (ch == '#' || ch == '!') {
+                            state = COMMENT;
+                            break;
+                        }
+                        state = KEY;
+                        precedingBackslash = appendUnescaped(ch, key);
+                        break;
+                    case COMMENT:
+                        break;
+                    case KEY:
+                        if (ch == '=' || ch == ':') {
+                            state = VALUE_START;
+                        } else if (isWhitespace(ch)) {
+                            state = SEPARATOR;
+                        } else {
+                            precedingBackslash = appendUnescaped(ch, key);
+                        }
+                        break;
+                    case SEPARATOR:
+                        if (ch == '=' || ch == ':') {
+                            state = VALUE_START;
+                            break;
+                        }
+                        if (isWhitespace(ch)) {
+                            break;
+                        }
+                        state = VALUE;
+                        precedingBackslash = appendUnescaped(ch, value);
+                        break;
+                    case VALUE_START:
+                        if (isWhitespace(ch)) {
+                            break;
+                        }
+                        state = VALUE;
+                        precedingBackslash = appendUnescaped(ch, value);
+                        break;
+                    default:
+                        precedingBackslash = appendUnescaped(ch, value);
+                        break;
+                }
+            }
+        }
+        if (unicodeDigitsLeft > 0) {
+            throw new IOException("Malformed \\uxxxx encoding.");
+        }
+        if (state != LINE_START && state != COMMENT) {
+            entryConsumer.accept(key.toString(), value.toString());
+        }
+    }
+
+    private static boolean isWhitespace(final char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\f';
+    }
+
+    private static boolean appendUnescaped(final char ch, final StringBuilder target) {
+        if (ch == '\\') {
+            return true;
+        }
+        target.append(ch);
+        return false;
+    }
+
+    private static int append(final int state, final char ch, final StringBuilder key, final StringBuilder value) {
+        if (state == KEY) {
+            key.append(ch);
+            return KEY;
+        }
+        value.append(ch);
+        return VALUE;
+    }
+
+    private static char unescape(final char ch) {
+        switch (ch) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            default:
+                return ch;
+        }
+    }
+
+    public static String escapeKey(final String key) {
+        return escape(key, true);
+    }
+
+    public static String escapeValue(final String value) {
+        return escape(value, false);
+    }
+
+    private static String escape(final String string, final boolean isKey) {
+        int i = 0;
+        while (i < string.length() && !needsEscape(string, i, isKey)) {
+            i++;
+        }
+        if (i == string.length()) {
+            return string;
+        }
+        final StringBuilder escaped = new StringBuilder(string.length() + 8);
+        escaped.append(string, 0, i);
+        for (; i < string.length(); i++) {
+            final char ch = string.charAt(i);
+            switch (ch) {
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\f':
+                    escaped.append("\\f");
+                    break;
+                default:
+                    if (needsEscape(string, i, isKey)) {
+                        escaped.append('\\');
+                    }
+                    escaped.append(ch);
+                    break;
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static boolean needsEscape(final String string, final int index, final boolean isKey) {
+        final char ch = string.charAt(index);
+        switch (ch) {
+            case '\\':
+            case '\t':
+            case '\n':
+            case '\r':
+            case '\f':
+                return true;
+            case ' ':
+                return isKey || index == 0;
+            case '=':
+            case ':':
+                return isKey;
+            case '#':
+            case '!':
+                return isKey && index == 0;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package hr.srce.croris;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class RunProfile {
+    public enum Stage {
+        PARSE,
+        LANGUAGE_DETECTION,
+        SOURCE_SCAN,
+        DIFF,
+        SERIALISE,
+        WRITE
+    }
+
+    public enum Counter {
+        TRANSLATION_FILES_PARSED,
+        TRANSLATION_BYTES_PARSED,
+        SOURCE_FILES_SCANNED,
+        SOURCE_BYTES_SCANNED,
+        SOURCE_FILES_SKIPPED,
+        USAGE_CACHE_HITS,
+        KEYS_CHECKED,
+        LANGUAGE_DETECTOR_VALUES,
+        LANGUAGE_DETECTOR_CACHE_HITS,
+        FILES_WRITTEN
+    }
+
+    private static final long UNSUPPORTED_CPU_TIME = -1;
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final Map<Stage, LongAdder> wallTimes = new EnumMap<>(Stage.class);
+    private final Map<Stage, LongAdder> cpuTimes = new EnumMap<>(Stage.class);
+    private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    private final ThreadLocal<Stage> currentStages = new ThreadLocal<>();
+    private final long startTime = System.nanoTime();
+
+    public RunProfile() {
+        for (final Stage stage : Stage.values()) {
+            this.wallTimes.put(stage, new LongAdder());
+            this.cpuTimes.put(stage, new LongAdder());
+        }
+        for (final Counter counter : Counter.values()) {
+            this.counters.put(counter, new LongAdder());
+        }
+    }
+
+    private static long getThreadCpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : UNSUPPORTED_CPU_TIME;
+    }
+
+    private void addCpuTime(final Stage stage, final long startCpuTime) {
+        final long cpuTime = getThreadCpuTime();
+        if (cpuTime != UNSUPPORTED_CPU_TIME && startCpuTime != UNSUPPORTED_CPU_TIME) {
+            this.cpuTimes.get(stage).add(cpuTime - startCpuTime);
+        }
+    }
+
+    public StageTimer startStage(final Stage stage) {
+        return new StageTimer(stage);
+    }
+
+    public <T> Callable<T> trackWorkerCpuTime(final Callable<T> task) {
+        final Stage stage = this.currentStages.get();
+        if (stage == null) {
+            return task;
+        }
+        return () -> {
+            final long startCpuTime = getThreadCpuTime();
+            try {
+                return task.call();
+            } finally {
+                this.addCpuTime(stage, startCpuTime);
+            }
+        };
+    }
+
+    public <T> Consumer<T> trackWorkerCpuTime(final Consumer<T> action) {
+        final Stage stage = this.currentStages.get();
+        if (stage == null) {
+            return action;
+        }
+        return value -> {
+            final long startCpuTime = getThreadCpuTime();
+            try {
+                action.accept(value);
+            } finally {
+                this.addCpuTime(stage, startCpuTime);
+            }
+        };
+    }
+
+    public void increment(final Counter counter) {
+        this.counters.get(counter).increment();
+    }
+
+    public void add(final Counter counter, final long value) {
+        this.counters.get(counter).add(value);
+    }
+
+    public long getWallTime(final Stage stage) {
+        return this.wallTimes.get(stage).sum();
+    }
+
+    public long getCpuTime(final Stage stage) {
+        return this.cpuTimes.get(stage).sum();
+    }
+
+    public long getCount(final Counter counter) {
+        return this.counters.get(counter).sum();
+    }
+
+    public RunProfileSnapshot snapshot() {
+        final Map<Stage, Long> wallTimes = new EnumMap<>(Stage.class);
+        final Map<Stage, Long> cpuTimes = new EnumMap<>(Stage.class);
+        final Map<Counter, Long> counters = new EnumMap<>(Counter.class);
+        for (final Stage stage : Stage.values()) {
+            wallTimes.put(stage, this.getWallTime(stage));
+            cpuTimes.put(stage, this.getCpuTime(stage));
+        }
+        for (final Counter counter : Counter.values()) {
+            counters.put(counter, this.getCount(counter));
+        }
+        return new RunProfileSnapshot(System.nanoTime() - this.startTime, wallTimes, cpuTimes, counters);
+    }
+
+    public String toJson() {
+        return this.snapshot().toJson();
+    }
+
+    public class StageTimer {
+        private final Stage stage;
+        private final Stage previousStage;
+        private final long startWallTime = System.nanoTime();
+        private final long startCpuTime = getThreadCpuTime();
+
+        private StageTimer(final Stage stage) {
+            this.stage = stage;
+            this.previousStage = currentStages.get();
+            currentStages.set(stage);
+        }
+
+        public void stop() {
+            wallTimes.get(this.stage).add(System.nanoTime() - this.startWallTime);
+            addCpuTime(this.stage, this.startCpuTime);
+            if (this.previousStage == null) {
+                currentStages.remove();
+            } else {
+                currentStages.set(this.previousStage);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package hr.srce.croris;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+public final class RunProfileSnapshot {
+    private final long wallTime;
+    private final Map<RunProfile.Stage, Long> wallTimes;
+    private final Map<RunProfile.Stage, Long> cpuTimes;
+    private final Map<RunProfile.Counter, Long> counters;
+
+    RunProfileSnapshot(
+            final long wallTime,
+            final Map<RunProfile.Stage, Long> wallTimes,
+            final Map<RunProfile.Stage, Long> cpuTimes,
+            final Map<RunProfile.Counter, Long> counters
+    ) {
+        this.wallTime = wallTime;
+        this.wallTimes = Collections.unmodifiableMap(new EnumMap<>(wallTimes));
+        this.cpuTimes = Collections.unmodifiableMap(new EnumMap<>(cpuTimes));
+        this.counters = Collections.unmodifiableMap(new EnumMap<>(counters));
+    }
+
+    public long getWallTime() {
+        return wallTime;
+    }
+
+    public long getWallTime(final RunProfile.Stage stage) {
+        return this.wallTimes.get(stage);
+    }
+
+    public long getCpuTime(final RunProfile.Stage stage) {
+        return this.cpuTimes.get(stage);
+    }
+
+    public long getCount(final RunProfile.Counter counter) {
+        return this.counters.get(counter);
+    }
+
+    public String toJson() {
+        final StringBuilder json = new StringBuilder();
+        json.append("{\"wallTimeNanos\":").append(this.wallTime);
+        json.append(",\"stages\":{");
+        for (final RunProfile.Stage stage : RunProfile.Stage.values()) {
+            if (stage.ordinal() > 0) {
+                json.append(',');
+            }
+            json.append('"').append(toJsonName(stage.name())).append("\":{")
+                    .append("\"wallTimeNanos\":").append(this.getWallTime(stage))
+                    .append(",\"cpuTimeNanos\":").append(this.getCpuTime(stage))
+                    .append('}');
+        }
+        json.append("},\"counters\":{");
+        for (final RunProfile.Counter counter : RunProfile.Counter.values()) {
+            if (counter.ordinal() > 0) {
+                json.append(',');
+            }
+            json.append('"').append(toJsonName(counter.name())).append("\":").append(this.getCount(counter));
+        }
+        return json.append("}}").toString();
+    }
+
+    private static String toJsonName(final String constantName) {
+        final StringBuilder jsonName = new StringBuilder(constantName.length());
+        boolean upperCaseNext = false;
+        for (final char ch : constantName.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (ch == '_') {
+                upperCaseNext = true;
+            } else {
+                jsonName.append(upperCaseNext ? Character.toUpperCase(ch) : ch);
+                upperCaseNext = false;
+            }
+        }
+        return jsonName.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class SarifDiffReportWriter implements DiffReportWriter {
+    private static final String SARIF_VERSION = "2.1.0";
+    private static final String SARIF_SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+    private static final String TOOL_NAME = "spring-boot-i18n-formatter";
+    private static final String RESULT_LEVEL = "warning";
+
+    private final Writer writer;
+    private boolean firstResult = true;
+
+    public SarifDiffReportWriter(final Writer writer) throws IOException {
+        this.writer = writer;
+        this.writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        this.writer.write("{\"version\":\"" + SARIF_VERSION + "\",\"$schema\":\"" + SARIF_SCHEMA + "\",\"runs\":[{");
+        this.writer.write("\"tool\":{\"driver\":{\"name\":\"" + TOOL_NAME + "\",\"rules\":[");
+        boolean firstRule = true;
+        for (final Map.Entry<String, String> diffDescription : new TreeMap<>(TranslationFolderWrapper.getDiffDescriptions()).entrySet()) {
+            if (!firstRule) {
+                this.writer.write(',');
+            }
+            firstRule = false;
+            this.writer.write("{\"id\":");
+            JsonStrings.appendQuoted(this.writer, diffDescription.getKey());
+            this.writer.write(",\"shortDescription\":{\"text\":");
+            JsonStrings.appendQuoted(this.writer, diffDescription.getValue());
+            this.writer.write("}}");
+        }
+        this.writer.write("]}},\"results\":[");
+    }
+
+    @Override
+    public void startFolder(final File folder) {
+    }
+
+    @Override
+    public void startLanguage(final String langCode) {
+    }
+
+    @Override
+    public void writeFinding(final DiffFinding finding) throws IOException {
+        if (!this.firstResult) {
+            this.writer.write(",\n");
+        }
+        this.firstResult = false;
+        this.writer.write("{\"ruleId\":");
+        JsonStrings.appendQuoted(this.writer, finding.getType());
+        this.writer.write(",\"level\":\"" + RESULT_LEVEL + "\",\"message\":{\"text\":");
+        JsonStrings.appendQuoted(this.writer, finding.getDescription() + " " + finding.getSubject());
+        this.writer.write("},\"locations\":[{\"physicalLocation\":{\"artifactLocation\":{\"uri\":");
+        JsonStrings.appendQuoted(this.writer, finding.getTranslationFile().toPath().toUri().toString());
+        this.writer.write("}},\"logicalLocations\":[");
+        for (int i = 0; i < finding.getKeys().size(); i++) {
+            if (i > 0) {
+                this.writer.write(',');
+            }
+            this.writer.write("{\"fullyQualifiedName\":");
+            JsonStrings.appendQuoted(this.writer, finding.getKeys().get(i));
+            this.writer.write('}');
+        }
+        this.writer.write("]}]}");
+    }
+
+    @Override
+    public void endFolder() {
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.write("]}]}\n");
+        this.writer.close();
+    }
+}
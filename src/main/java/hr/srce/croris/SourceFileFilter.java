@@ -0,0 +1,81 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class SourceFileFilter {
+    public static final long NO_SIZE_LIMIT = Long.MAX_VALUE;
+    public static final List<String> DEFAULT_EXCLUDE_GLOBS = List.of("node_modules");
+    private static final long MAX_MAPPABLE_FILE_SIZE = Integer.MAX_VALUE;
+    private static final String GLOB_SYNTAX = "glob:";
+    private static final char PATH_SEPARATOR = '/';
+
+    private final Path srcFolder;
+    private final long maxFileSize;
+    private final List<PathMatcher> nameMatchers = new ArrayList<>();
+    private final List<PathMatcher> pathMatchers = new ArrayList<>();
+    private final RunProfile runProfile;
+
+    public SourceFileFilter(
+            final File srcFolder,
+            final long maxFileSize,
+            final Collection<String> excludeGlobs,
+            final RunProfile runProfile
+    ) {
+        this.srcFolder = srcFolder.toPath().toAbsolutePath().normalize();
+        this.maxFileSize = Math.min(maxFileSize, MAX_MAPPABLE_FILE_SIZE);
+        this.runProfile = runProfile;
+        for (final String excludeGlob : excludeGlobs) {
+            final PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher(GLOB_SYNTAX + excludeGlob);
+            if (excludeGlob.indexOf(PATH_SEPARATOR) < 0) {
+                this.nameMatchers.add(pathMatcher);
+            } else {
+                this.pathMatchers.add(pathMatcher);
+            }
+        }
+    }
+
+    public static SourceFileFilter create(final File srcFolder, final TranslationFormatterOptions options) {
+        return new SourceFileFilter(
+                srcFolder,
+                options.getMaxSourceFileSize(),
+                options.getExcludeSourceGlobs(),
+                options.getRunProfile()
+        );
+    }
+
+    boolean isExcluded(final File file) {
+        final Path path = file.toPath().toAbsolutePath().normalize();
+        if (!path.startsWith(this.srcFolder)) {
+            final Path fileName = path.getFileName();
+            return fileName != null && this.nameMatchers.stream().anyMatch(nameMatcher -> nameMatcher.matches(fileName));
+        }
+        final Path relativePath = this.srcFolder.relativize(path);
+        for (final Path name : relativePath) {
+            if (this.nameMatchers.stream().anyMatch(nameMatcher -> nameMatcher.matches(name))) {
+                return true;
+            }
+        }
+        return this.pathMatchers.stream().anyMatch(pathMatcher -> pathMatcher.matches(relativePath));
+    }
+
+    public boolean acceptFolder(final File folder) {
+        return !this.isExcluded(folder);
+    }
+
+    public boolean acceptFile(final File file) {
+        if (!SourceUsageIndex.isSourceFile(file)) {
+            return false;
+        }
+        if (file.length() > this.maxFileSize || this.isExcluded(file)) {
+            this.runProfile.increment(RunProfile.Counter.SOURCE_FILES_SKIPPED);
+            return false;
+        }
+        return true;
+    }
+}
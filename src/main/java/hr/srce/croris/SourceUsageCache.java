@@ -0,0 +1,361 @@
+package hr.srce.croris;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+public class SourceUsageCache {
+    private static final int MAGIC = 0x75736331;
+    private static final int VERSION = 2;
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final File cacheFile;
+    private final Map<List<String>, Section> sections;
+    private final Set<List<String>> updatedSectionKeys = new HashSet<>();
+
+    private SourceUsageCache(final File cacheFile, final Map<List<String>, Section> sections) {
+        this.cacheFile = cacheFile;
+        this.sections = sections;
+    }
+
+    public static SourceUsageCache load(final File cacheFile) {
+        final Map<List<String>, Section> sections = new HashMap<>();
+        if (!cacheFile.isFile()) {
+            return new SourceUsageCache(cacheFile, sections);
+        }
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                return new SourceUsageCache(cacheFile, sections);
+            }
+            final int sectionCount = input.readInt();
+            for (int i = 0; i < sectionCount; i++) {
+                final String srcPath = input.readUTF();
+                final String translationFolderPath = input.readUTF();
+                sections.put(List.of(srcPath, translationFolderPath), Section.read(input));
+            }
+        } catch (IOException e) {
+            sections.clear();
+        }
+        return new SourceUsageCache(cacheFile, sections);
+    }
+
+    public void save() throws IOException {
+        synchronized (SourceUsageCache.class) {
+            final SourceUsageCache currentCache = load(this.cacheFile);
+            for (final List<String> sectionKey : this.updatedSectionKeys) {
+                currentCache.sections.put(sectionKey, this.sections.get(sectionKey));
+            }
+            currentCache.write();
+        }
+    }
+
+    private void write() throws IOException {
+        final File parentFolder = this.cacheFile.getAbsoluteFile().getParentFile();
+        if (parentFolder != null) {
+            Files.createDirectories(parentFolder.toPath());
+        }
+        final File tempFile = new File(this.cacheFile.getPath() + TEMP_FILE_SUFFIX);
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(this.sections.size());
+            for (final Map.Entry<List<String>, Section> section : this.sections.entrySet()) {
+                for (final String path : section.getKey()) {
+                    output.writeUTF(path);
+                }
+                section.getValue().write(output);
+            }
+        }
+        Files.move(tempFile.toPath(), this.cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static List<String> getSectionKey(final File srcFolder, final File translationFolder) {
+        return List.of(
+                srcFolder.toPath().toAbsolutePath().normalize().toString(),
+                translationFolder.toPath().toAbsolutePath().normalize().toString()
+        );
+    }
+
+    public BitSet findKeysInUse(
+            final File srcFolder,
+            final File translationFolder,
+            final List<String> keys,
+            final int threads,
+            final RunProfile runProfile,
+            final SourceFileFilter sourceFileFilter
+    ) throws IOException {
+        final List<String> sectionKey = getSectionKey(srcFolder, translationFolder);
+        final Section cachedSection = this.sections.getOrDefault(sectionKey, Section.EMPTY);
+        final int[] cachedToCurrentKeyIndexes = new int[cachedSection.keys.size()];
+        Arrays.fill(cachedToCurrentKeyIndexes, -1);
+        final Map<String, Integer> currentKeyIndexes = new HashMap<>();
+        for (int keyIndex = 0; keyIndex < keys.size(); keyIndex++) {
+            currentKeyIndexes.put(keys.get(keyIndex), keyIndex);
+        }
+        for (int cachedKeyIndex = 0; cachedKeyIndex < cachedSection.keys.size(); cachedKeyIndex++) {
+            cachedToCurrentKeyIndexes[cachedKeyIndex] = currentKeyIndexes.getOrDefault(cachedSection.keys.get(cachedKeyIndex), -1);
+        }
+        final Set<String> uncachedKeySet = new HashSet<>(keys);
+        uncachedKeySet.removeAll(cachedSection.keys);
+        final List<String> uncachedKeys = new ArrayList<>(uncachedKeySet);
+        final KeyMatcher keyMatcher = new KeyMatcher(keys);
+        final KeyMatcher uncachedKeyMatcher = uncachedKeys.isEmpty() ? null : new KeyMatcher(uncachedKeys);
+
+        final List<File> sourceFiles = new ArrayList<>();
+        SourceUsageIndex.collectSourceFiles(srcFolder, sourceFileFilter, sourceFiles);
+        final Map<String, CachedFile> files = new ConcurrentHashMap<>();
+        final FileScanner fileScanner = sourceFile -> {
+            final String relativePath = srcFolder.toPath().relativize(sourceFile.toPath()).toString();
+            final CachedFile cachedFile = cachedSection.files.get(relativePath);
+            final long lastModified = sourceFile.lastModified();
+            if (cachedFile != null && uncachedKeyMatcher == null
+                    && cachedFile.size == sourceFile.length() && cachedFile.lastModified == lastModified) {
+                files.put(relativePath, cachedFile.remap(cachedToCurrentKeyIndexes, lastModified));
+                runProfile.increment(RunProfile.Counter.USAGE_CACHE_HITS);
+                return;
+            }
+            final ByteBuffer content = SourceUsageIndex.readContent(sourceFile);
+            runProfile.increment(RunProfile.Counter.SOURCE_FILES_SCANNED);
+            runProfile.add(RunProfile.Counter.SOURCE_BYTES_SCANNED, content.remaining());
+            final long hash = hash(content);
+            final CachedFile scannedFile;
+            if (cachedFile != null && cachedFile.size == content.remaining() && cachedFile.hash == hash) {
+                scannedFile = cachedFile.remap(cachedToCurrentKeyIndexes, lastModified);
+                if (uncachedKeyMatcher != null) {
+                    final BitSet foundUncachedKeys = new BitSet(uncachedKeys.size());
+                    uncachedKeyMatcher.scan(content, foundUncachedKeys);
+                    for (int i = foundUncachedKeys.nextSetBit(0); i >= 0; i = foundUncachedKeys.nextSetBit(i + 1)) {
+                        scannedFile.keys.set(currentKeyIndexes.get(uncachedKeys.get(i)));
+                    }
+                }
+            } else {
+                final BitSet foundKeys = new BitSet(keys.size());
+                keyMatcher.scan(content, foundKeys);
+                scannedFile = new CachedFile(content.remaining(), lastModified, hash, foundKeys);
+            }
+            files.put(relativePath, scannedFile);
+        };
+        this.scanFiles(sourceFiles, fileScanner, threads, runProfile);
+        this.sections.put(sectionKey, new Section(List.copyOf(keys), files));
+        this.updatedSectionKeys.add(sectionKey);
+
+        final BitSet foundKeys = new BitSet(keys.size());
+        for (final CachedFile file : files.values()) {
+            foundKeys.or(file.keys);
+        }
+        return foundKeys;
+    }
+
+    public BitSet findCachedKeysInUse(
+            final File srcFolder,
+            final File translationFolder,
+            final List<String> keys,
+            final Collection<File> changedSourceFiles,
+            final SourceFileFilter sourceFileFilter,
+            final BitSet foundKeys,
+            final RunProfile runProfile
+    ) throws IOException {
+        final BitSet resolvedKeys = new BitSet(keys.size());
+        final Section cachedSection = this.sections.get(getSectionKey(srcFolder, translationFolder));
+        if (cachedSection == null) {
+            return resolvedKeys;
+        }
+        final Map<String, Integer> cachedKeyIndexes = new HashMap<>();
+        for (int cachedKeyIndex = 0; cachedKeyIndex < cachedSection.keys.size(); cachedKeyIndex++) {
+            cachedKeyIndexes.put(cachedSection.keys.get(cachedKeyIndex), cachedKeyIndex);
+        }
+        final int[] cachedToCurrentKeyIndexes = new int[cachedSection.keys.size()];
+        Arrays.fill(cachedToCurrentKeyIndexes, -1);
+        for (int keyIndex = 0; keyIndex < keys.size(); keyIndex++) {
+            final Integer cachedKeyIndex = cachedKeyIndexes.get(keys.get(keyIndex));
+            if (cachedKeyIndex != null) {
+                cachedToCurrentKeyIndexes[cachedKeyIndex] = keyIndex;
+                resolvedKeys.set(keyIndex);
+            }
+        }
+        if (resolvedKeys.isEmpty()) {
+            return resolvedKeys;
+        }
+        final Set<File> changedFiles = new HashSet<>();
+        for (final File changedSourceFile : changedSourceFiles) {
+            changedFiles.add(changedSourceFile.toPath().toAbsolutePath().normalize().toFile());
+        }
+        final List<File> sourceFiles = new ArrayList<>();
+        SourceUsageIndex.collectSourceFiles(srcFolder, sourceFileFilter, sourceFiles);
+        final List<File> staleFiles = new ArrayList<>();
+        for (final File sourceFile : sourceFiles) {
+            if (changedFiles.contains(sourceFile.toPath().toAbsolutePath().normalize().toFile())) {
+                continue;
+            }
+            final String relativePath = srcFolder.toPath().relativize(sourceFile.toPath()).toString();
+            final CachedFile cachedFile = cachedSection.files.get(relativePath);
+            if (cachedFile == null
+                    || cachedFile.size != sourceFile.length()
+                    || cachedFile.lastModified != sourceFile.lastModified()) {
+                staleFiles.add(sourceFile);
+                continue;
+            }
+            runProfile.increment(RunProfile.Counter.USAGE_CACHE_HITS);
+            for (int cachedKeyIndex = cachedFile.keys.nextSetBit(0); cachedKeyIndex >= 0; cachedKeyIndex = cachedFile.keys.nextSetBit(cachedKeyIndex + 1)) {
+                if (cachedKeyIndex < cachedToCurrentKeyIndexes.length && cachedToCurrentKeyIndexes[cachedKeyIndex] >= 0) {
+                    foundKeys.set(cachedToCurrentKeyIndexes[cachedKeyIndex]);
+                }
+            }
+        }
+
+        final BitSet unfoundKeys = (BitSet) resolvedKeys.clone();
+        unfoundKeys.andNot(foundKeys);
+        if (unfoundKeys.isEmpty() || staleFiles.isEmpty()) {
+            return resolvedKeys;
+        }
+        final List<String> unfoundKeyList = new ArrayList<>();
+        final int[] unfoundKeyIndexes = new int[unfoundKeys.cardinality()];
+        for (int keyIndex = unfoundKeys.nextSetBit(0); keyIndex >= 0; keyIndex = unfoundKeys.nextSetBit(keyIndex + 1)) {
+            unfoundKeyIndexes[unfoundKeyList.size()] = keyIndex;
+            unfoundKeyList.add(keys.get(keyIndex));
+        }
+        final KeyMatcher keyMatcher = new KeyMatcher(unfoundKeyList);
+        final BitSet foundStaleKeys = new BitSet(unfoundKeyList.size());
+        for (final File staleFile : staleFiles) {
+            if (foundStaleKeys.cardinality() == unfoundKeyList.size()) {
+                break;
+            }
+            final ByteBuffer content = SourceUsageIndex.readContent(staleFile);
+            runProfile.increment(RunProfile.Counter.SOURCE_FILES_SCANNED);
+            runProfile.add(RunProfile.Counter.SOURCE_BYTES_SCANNED, content.remaining());
+            keyMatcher.scan(content, foundStaleKeys);
+        }
+        for (int keyIndex = foundStaleKeys.nextSetBit(0); keyIndex >= 0; keyIndex = foundStaleKeys.nextSetBit(keyIndex + 1)) {
+            foundKeys.set(unfoundKeyIndexes[keyIndex]);
+        }
+        return resolvedKeys;
+    }
+
+    private void scanFiles(
+            final List<File> sourceFiles,
+            final FileScanner fileScanner,
+            final int threads,
+            final RunProfile runProfile
+    ) throws IOException {
+        if (threads <= 1) {
+            for (final File sourceFile : sourceFiles) {
+                fileScanner.scan(sourceFile);
+            }
+            return;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> sourceFiles.parallelStream().forEach(runProfile.trackWorkerCpuTime(sourceFile -> {
+                try {
+                    fileScanner.scan(sourceFile);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static long hash(final ByteBuffer content) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(content.duplicate());
+        return crc32.getValue();
+    }
+
+    private interface FileScanner {
+        void scan(File sourceFile) throws IOException;
+    }
+
+    private static class Section {
+        private static final Section EMPTY = new Section(Collections.emptyList(), Collections.emptyMap());
+
+        private final List<String> keys;
+        private final Map<String, CachedFile> files;
+
+        private Section(final List<String> keys, final Map<String, CachedFile> files) {
+            this.keys = keys;
+            this.files = files;
+        }
+
+        private static Section read(final DataInputStream input) throws IOException {
+            final int keyCount = input.readInt();
+            final List<String> keys = new ArrayList<>(keyCount);
+            for (int i = 0; i < keyCount; i++) {
+                keys.add(input.readUTF());
+            }
+            final int fileCount = input.readInt();
+            final Map<String, CachedFile> files = new HashMap<>();
+            for (int i = 0; i < fileCount; i++) {
+                final String relativePath = input.readUTF();
+                final long size = input.readLong();
+                final long lastModified = input.readLong();
+                final long hash = input.readLong();
+                final BitSet fileKeys = new BitSet(keyCount);
+                final int fileKeyCount = input.readInt();
+                for (int j = 0; j < fileKeyCount; j++) {
+                    fileKeys.set(input.readInt());
+                }
+                files.put(relativePath, new CachedFile(size, lastModified, hash, fileKeys));
+            }
+            return new Section(keys, files);
+        }
+
+        private void write(final DataOutputStream output) throws IOException {
+            output.writeInt(this.keys.size());
+            for (final String key : this.keys) {
+                output.writeUTF(key);
+            }
+            output.writeInt(this.files.size());
+            for (final Map.Entry<String, CachedFile> file : this.files.entrySet()) {
+                final CachedFile cachedFile = file.getValue();
+                output.writeUTF(file.getKey());
+                output.writeLong(cachedFile.size);
+                output.writeLong(cachedFile.lastModified);
+                output.writeLong(cachedFile.hash);
+                output.writeInt(cachedFile.keys.cardinality());
+                for (int i = cachedFile.keys.nextSetBit(0); i >= 0; i = cachedFile.keys.nextSetBit(i + 1)) {
+                    output.writeInt(i);
+                }
+            }
+        }
+    }
+
+    private static class CachedFile {
+        private final long size;
+        private final long lastModified;
+        private final long hash;
+        private final BitSet keys;
+
+        private CachedFile(final long size, final long lastModified, final long hash, final BitSet keys) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.keys = keys;
+        }
+
+        private CachedFile remap(final int[] keyIndexes, final long lastModified) {
+            final BitSet remappedKeys = new BitSet();
+            for (int i = this.keys.nextSetBit(0); i >= 0; i = this.keys.nextSetBit(i + 1)) {
+                if (i < keyIndexes.length && keyIndexes[i] >= 0) {
+                    remappedKeys.set(keyIndexes[i]);
+                }
+            }
+            return new CachedFile(this.size, lastModified, this.hash, remappedKeys);
+        }
+    }
+}
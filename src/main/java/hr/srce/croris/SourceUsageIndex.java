@@ -0,0 +1,240 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public class SourceUsageIndex {
+    private static final int MAPPED_READ_THRESHOLD = 64 * 1024;
+    private static final List<String> IGNORABLE_ENDING_DIFF_FILE_SUBSTRINGS_TRANSLATION_KEYS = List.of(
+            "js",
+            "html",
+            "java"
+    );
+    private static final List<String> IGNORABLE_ENDING_SUBSTRINGS_TRANSLATION_KEYS = List.of(
+            "create.success",
+            "create.failure",
+            "update.success",
+            "update.failure",
+            "delete.success",
+            "delete.failure"
+    );
+    private static final List<String> IGNORABLE_STARTING_SUBSTRINGS_TRANSLATION_KEYS = List.of(
+            "excel.",
+            "ustanova.export."
+    );
+
+    private final Set<String> keysInUse;
+
+    SourceUsageIndex(final Set<String> keysInUse) {
+        this.keysInUse = keysInUse;
+    }
+
+    public static SourceUsageIndex build(
+            final File srcFolder,
+            final File translationFolder,
+            final Collection<String> keys,
+            final TranslationFormatterOptions options
+    ) throws IOException {
+        final List<String> searchableKeys = getSearchableKeys(keys);
+        final int threads = options.getThreads();
+        final RunProfile runProfile = options.getRunProfile();
+        final SourceFileFilter sourceFileFilter = SourceFileFilter.create(srcFolder, options);
+        final BitSet foundKeys;
+        if (options.getUsageCacheFile() != null) {
+            final SourceUsageCache sourceUsageCache = SourceUsageCache.load(options.getUsageCacheFile());
+            foundKeys = sourceUsageCache.findKeysInUse(srcFolder, translationFolder, searchableKeys, threads, runProfile, sourceFileFilter);
+            sourceUsageCache.save();
+        } else if (threads > 1 && !searchableKeys.isEmpty()) {
+            foundKeys = new ParallelSourceScanner(threads, runProfile, sourceFileFilter).scan(srcFolder, new KeyMatcher(searchableKeys));
+        } else {
+            final KeyMatcher keyMatcher = new KeyMatcher(searchableKeys);
+            foundKeys = new BitSet(searchableKeys.size());
+            scanFolder(srcFolder, keyMatcher, foundKeys, runProfile, sourceFileFilter);
+        }
+
+        final Set<String> keysInUse = new HashSet<>();
+        for (int keyIndex = foundKeys.nextSetBit(0); keyIndex >= 0; keyIndex = foundKeys.nextSetBit(keyIndex + 1)) {
+            keysInUse.add(searchableKeys.get(keyIndex));
+        }
+        return new SourceUsageIndex(keysInUse);
+    }
+
+    public static SourceUsageIndex build(
+            final File srcFolder,
+            final File translationFolder,
+            final Collection<String> keys,
+            final Collection<File> changedSourceFiles,
+            final TranslationFormatterOptions options
+    ) throws IOException {
+        final List<String> searchableKeys = getSearchableKeys(keys);
+        final RunProfile runProfile = options.getRunProfile();
+        final SourceFileFilter sourceFileFilter = SourceFileFilter.create(srcFolder, options);
+        final BitSet foundKeys = new BitSet(searchableKeys.size());
+        if (!searchableKeys.isEmpty()) {
+            final KeyMatcher keyMatcher = new KeyMatcher(searchableKeys);
+            for (final File changedSourceFile : changedSourceFiles) {
+                if (changedSourceFile.isFile() && sourceFileFilter.acceptFile(changedSourceFile)) {
+                    final ByteBuffer content = readContent(changedSourceFile);
+                    runProfile.increment(RunProfile.Counter.SOURCE_FILES_SCANNED);
+                    runProfile.add(RunProfile.Counter.SOURCE_BYTES_SCANNED, content.remaining());
+                    keyMatcher.scan(content, foundKeys);
+                }
+            }
+        }
+        final BitSet resolvedKeys = (BitSet) foundKeys.clone();
+        if (options.getUsageCacheFile() != null && foundKeys.cardinality() < searchableKeys.size()) {
+            resolvedKeys.or(SourceUsageCache.load(options.getUsageCacheFile()).findCachedKeysInUse(
+                    srcFolder,
+                    translationFolder,
+                    searchableKeys,
+                    changedSourceFiles,
+                    sourceFileFilter,
+                    foundKeys,
+                    runProfile
+            ));
+            resolvedKeys.or(foundKeys);
+        }
+        if (resolvedKeys.cardinality() < searchableKeys.size()) {
+            final List<String> unresolvedKeys = new ArrayList<>();
+            final int[] unresolvedKeyIndexes = new int[searchableKeys.size() - resolvedKeys.cardinality()];
+            for (int keyIndex = resolvedKeys.nextClearBit(0); keyIndex < searchableKeys.size(); keyIndex = resolvedKeys.nextClearBit(keyIndex + 1)) {
+                unresolvedKeyIndexes[unresolvedKeys.size()] = keyIndex;
+                unresolvedKeys.add(searchableKeys.get(keyIndex));
+            }
+            final KeyMatcher keyMatcher = new KeyMatcher(unresolvedKeys);
+            final BitSet foundUnresolvedKeys = new BitSet(unresolvedKeys.size());
+            scanFolder(srcFolder, keyMatcher, foundUnresolvedKeys, runProfile, sourceFileFilter);
+            for (int keyIndex = foundUnresolvedKeys.nextSetBit(0); keyIndex >= 0; keyIndex = foundUnresolvedKeys.nextSetBit(keyIndex + 1)) {
+                foundKeys.set(unresolvedKeyIndexes[keyIndex]);
+            }
+        }
+
+        final Set<String> keysInUse = new HashSet<>();
+        for (int keyIndex = foundKeys.nextSetBit(0); keyIndex >= 0; keyIndex = foundKeys.nextSetBit(keyIndex + 1)) {
+            keysInUse.add(searchableKeys.get(keyIndex));
+        }
+        return new SourceUsageIndex(keysInUse);
+    }
+
+    public static Set<String> findKeysWithRemovedReferences(
+            final Collection<String> keys,
+            final Collection<File> changedSourceFiles,
+            final SourceFileFilter sourceFileFilter
+    ) throws IOException {
+        final Set<String> keysWithRemovedReferences = new HashSet<>();
+        final List<String> searchableKeys = getSearchableKeys(keys);
+        if (searchableKeys.isEmpty()) {
+            return keysWithRemovedReferences;
+        }
+        KeyMatcher keyMatcher = null;
+        for (final File changedSourceFile : changedSourceFiles) {
+            if (!isSourceFile(changedSourceFile) || sourceFileFilter.isExcluded(changedSourceFile)) {
+                continue;
+            }
+            final byte[] headContent = GitHeadRevision.read(changedSourceFile);
+            if (headContent == null) {
+                continue;
+            }
+            if (keyMatcher == null) {
+                keyMatcher = new KeyMatcher(searchableKeys);
+            }
+            final BitSet removedKeys = new BitSet(searchableKeys.size());
+            keyMatcher.scan(headContent, removedKeys);
+            if (changedSourceFile.isFile() && !removedKeys.isEmpty()) {
+                final BitSet currentKeys = new BitSet(searchableKeys.size());
+                keyMatcher.scan(readContent(changedSourceFile), currentKeys);
+                removedKeys.andNot(currentKeys);
+            }
+            for (int keyIndex = removedKeys.nextSetBit(0); keyIndex >= 0; keyIndex = removedKeys.nextSetBit(keyIndex + 1)) {
+                keysWithRemovedReferences.add(searchableKeys.get(keyIndex));
+            }
+        }
+        return keysWithRemovedReferences;
+    }
+
+    public boolean isKeyInUse(final String key) {
+        return isKeyIgnorable(key) || this.isKeyFound(key);
+    }
+
+    protected boolean isKeyFound(final String key) {
+        return this.keysInUse.contains(key);
+    }
+
+    static List<String> getSearchableKeys(final Collection<String> keys) {
+        final List<String> searchableKeys = new ArrayList<>();
+        for (final String key : new HashSet<>(keys)) {
+            if (!isKeyIgnorable(key)) {
+                searchableKeys.add(key);
+            }
+        }
+        return searchableKeys;
+    }
+
+    private static boolean isKeyIgnorable(final String key) {
+        return IGNORABLE_ENDING_SUBSTRINGS_TRANSLATION_KEYS.stream().anyMatch(key::endsWith)
+                || IGNORABLE_STARTING_SUBSTRINGS_TRANSLATION_KEYS.stream().anyMatch(key::startsWith);
+    }
+
+    static boolean isSourceFile(final File file) {
+        final String fileName = file.getName();
+        return IGNORABLE_ENDING_DIFF_FILE_SUBSTRINGS_TRANSLATION_KEYS.stream().anyMatch(fileName::endsWith);
+    }
+
+    private static List<File> listFilesInternal(final File folder) {
+        if (folder == null) return Collections.emptyList();
+        File[] files = folder.listFiles();
+        if (files == null) return Collections.emptyList();
+        return Arrays.asList(files);
+    }
+
+    static void collectSourceFiles(final File folder, final SourceFileFilter sourceFileFilter, final List<File> sourceFiles) {
+        for (final File fileEntry : listFilesInternal(folder)) {
+            if (fileEntry.isDirectory()) {
+                if (sourceFileFilter.acceptFolder(fileEntry)) {
+                    collectSourceFiles(fileEntry, sourceFileFilter, sourceFiles);
+                }
+            } else if (sourceFileFilter.acceptFile(fileEntry)) {
+                sourceFiles.add(fileEntry);
+            }
+        }
+    }
+
+    private static void scanFolder(
+            final File folder,
+            final KeyMatcher keyMatcher,
+            final BitSet foundKeys,
+            final RunProfile runProfile,
+            final SourceFileFilter sourceFileFilter
+    ) throws IOException {
+        for (final File fileEntry : listFilesInternal(folder)) {
+            if (foundKeys.cardinality() == keyMatcher.getKeys().size()) {
+                return;
+            }
+            if (fileEntry.isDirectory()) {
+                if (sourceFileFilter.acceptFolder(fileEntry)) {
+                    scanFolder(fileEntry, keyMatcher, foundKeys, runProfile, sourceFileFilter);
+                }
+            } else if (sourceFileFilter.acceptFile(fileEntry)) {
+                final ByteBuffer content = readContent(fileEntry);
+                runProfile.increment(RunProfile.Counter.SOURCE_FILES_SCANNED);
+                runProfile.add(RunProfile.Counter.SOURCE_BYTES_SCANNED, content.remaining());
+                keyMatcher.scan(content, foundKeys);
+            }
+        }
+    }
+
+    static ByteBuffer readContent(final File file) throws IOException {
+        try (final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = fileChannel.size();
+            if (size >= MAPPED_READ_THRESHOLD) {
+                return fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+    }
+}
@@ -0,0 +1,77 @@
+package hr.srce.croris;
+
+import com.github.pemistahl.lingua.api.Language;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+public class TextDiffReportWriter implements DiffReportWriter {
+    private static final String SEPARATOR_LINE = "***********************************";
+    private static final String DIFF_TYPE_INDENTATION = "  - ";
+    private static final String FINDING_INDENTATION = "       ";
+
+    private final Writer writer;
+    private final boolean printFolderPath;
+    private String currentType;
+
+    public TextDiffReportWriter(final Writer writer, final boolean printFolderPath) {
+        this.writer = writer;
+        this.printFolderPath = printFolderPath;
+    }
+
+    private static String getLanguageName(final String langCode) {
+        final Language language = LanguageDetectorService.getLanguage(langCode);
+        if (language != null) {
+            return language.toString();
+        }
+        return Locale.forLanguageTag(langCode).getDisplayLanguage(Locale.ENGLISH);
+    }
+
+    private void writeLine(final String line) throws IOException {
+        this.writer.write(line);
+        this.writer.write('\n');
+    }
+
+    @Override
+    public void startFolder(final File folder) throws IOException {
+        if (this.printFolderPath) {
+            this.writeLine(folder.getPath());
+        }
+        this.writeLine("Displaying diffs...");
+        this.writeLine(SEPARATOR_LINE);
+    }
+
+    @Override
+    public void startLanguage(final String langCode) throws IOException {
+        this.currentType = null;
+        this.writeLine(getLanguageName(langCode).toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public void writeFinding(final DiffFinding finding) throws IOException {
+        if (!finding.getType().equals(this.currentType)) {
+            this.currentType = finding.getType();
+            this.writeLine(DIFF_TYPE_INDENTATION + finding.getDescription());
+        }
+        this.writer.write(FINDING_INDENTATION);
+        this.writer.write(finding.getSubject());
+        this.writer.write('\n');
+    }
+
+    @Override
+    public void endFolder() throws IOException {
+        this.writeLine(SEPARATOR_LINE);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+}
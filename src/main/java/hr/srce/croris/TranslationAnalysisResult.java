@@ -0,0 +1,66 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+public final class TranslationAnalysisResult {
+    private final File folder;
+    private final List<String> langCodes;
+    private final List<DiffFinding> findings;
+    private final Map<File, String> proposedContents;
+    private final RunProfileSnapshot runProfile;
+
+    TranslationAnalysisResult(
+            final File folder,
+            final List<String> langCodes,
+            final List<DiffFinding> findings,
+            final Map<File, String> proposedContents,
+            final RunProfileSnapshot runProfile
+    ) {
+        this.folder = folder;
+        this.langCodes = List.copyOf(langCodes);
+        this.findings = List.copyOf(findings);
+        this.proposedContents = Collections.unmodifiableMap(new LinkedHashMap<>(proposedContents));
+        this.runProfile = runProfile;
+    }
+
+    public File getFolder() {
+        return folder;
+    }
+
+    public List<DiffFinding> getFindings() {
+        return findings;
+    }
+
+    public Map<File, String> getProposedContents() {
+        return proposedContents;
+    }
+
+    public RunProfileSnapshot getRunProfile() {
+        return runProfile;
+    }
+
+    public void writeTo(final DiffReportWriter reportWriter) throws IOException {
+        reportWriter.startFolder(this.folder);
+        for (final String langCode : this.langCodes) {
+            reportWriter.startLanguage(langCode);
+            for (final DiffFinding finding : this.findings) {
+                if (langCode.equals(finding.getLangCode())) {
+                    reportWriter.writeFinding(finding);
+                }
+            }
+        }
+        reportWriter.endFolder();
+    }
+
+    public List<File> applyChanges() throws IOException {
+        final List<File> writtenFiles = new ArrayList<>();
+        for (final Map.Entry<File, String> proposedContent : this.proposedContents.entrySet()) {
+            if (TranslationFolderWrapper.writeNormalizedTranslationStringsToFile(proposedContent.getKey(), proposedContent.getValue())) {
+                writtenFiles.add(proposedContent.getKey());
+            }
+        }
+        return writtenFiles;
+    }
+}
@@ -0,0 +1,132 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class TranslationAnalyzer {
+    private final TranslationFormatterOptions options;
+    private final TranslationFolderWrapper coreWrapper;
+
+    private TranslationAnalyzer(final TranslationFormatterOptions options, final TranslationFolderWrapper coreWrapper) {
+        this.options = options;
+        this.coreWrapper = coreWrapper;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public TranslationAnalysisResult analyze(final File folder) throws IOException {
+        return this.analyze(folder, null);
+    }
+
+    public TranslationAnalysisResult analyze(final File folder, final File srcFolder) throws IOException {
+        final TranslationFormatterOptions analysisOptions = this.options.copy();
+        analysisOptions.setRunProfile(new RunProfile());
+        final FindingCollector findingCollector = new FindingCollector();
+        final TranslationFolderWrapper translationFolderWrapper = new TranslationFolderWrapper(
+                folder.getPath(),
+                srcFolder,
+                this.coreWrapper,
+                analysisOptions,
+                findingCollector
+        );
+        return new TranslationAnalysisResult(
+                folder,
+                findingCollector.langCodes,
+                findingCollector.findings,
+                translationFolderWrapper.getProposedContents(),
+                analysisOptions.getRunProfile().snapshot()
+        );
+    }
+
+    public static class Builder {
+        private final TranslationFormatterOptions options = new TranslationFormatterOptions();
+        private File coreFolder;
+
+        private Builder() {
+        }
+
+        public Builder coreFolder(final File coreFolder) {
+            this.coreFolder = coreFolder;
+            return this;
+        }
+
+        public Builder removeIfKeyExistsInCore(final boolean removeIfKeyExistsInCore) {
+            this.options.setRemoveIfKeyExistsInCore(removeIfKeyExistsInCore);
+            return this;
+        }
+
+        public Builder removeIfKeyNotInUse(final boolean removeIfKeyNotInUse) {
+            this.options.setRemoveIfKeyNotInUse(removeIfKeyNotInUse);
+            return this;
+        }
+
+        public Builder threads(final int threads) {
+            this.options.setThreads(threads);
+            return this;
+        }
+
+        public Builder languageCheckMode(final LanguageCheckMode languageCheckMode) {
+            this.options.setLanguageCheckMode(Objects.requireNonNull(languageCheckMode));
+            return this;
+        }
+
+        public Builder usageCacheFile(final File usageCacheFile) {
+            this.options.setUsageCacheFile(usageCacheFile);
+            return this;
+        }
+
+        public Builder maxSourceFileSize(final long maxSourceFileSize) {
+            this.options.setMaxSourceFileSize(maxSourceFileSize);
+            return this;
+        }
+
+        public Builder excludeSourceGlobs(final List<String> excludeSourceGlobs) {
+            this.options.setExcludeSourceGlobs(excludeSourceGlobs);
+            return this;
+        }
+
+        public TranslationAnalyzer build() throws IOException {
+            final TranslationFormatterOptions analyzerOptions = this.options.copy();
+            final TranslationFolderWrapper coreWrapper = this.coreFolder != null
+                    ? TranslationFolderWrapper.loadCore(this.coreFolder.getPath(), analyzerOptions)
+                    : null;
+            return new TranslationAnalyzer(analyzerOptions, coreWrapper);
+        }
+    }
+
+    private static class FindingCollector implements DiffReportWriter {
+        private final List<String> langCodes = new ArrayList<>();
+        private final List<DiffFinding> findings = new ArrayList<>();
+
+        @Override
+        public void startFolder(final File folder) {
+        }
+
+        @Override
+        public void startLanguage(final String langCode) {
+            this.langCodes.add(langCode);
+        }
+
+        @Override
+        public void writeFinding(final DiffFinding finding) {
+            this.findings.add(finding);
+        }
+
+        @Override
+        public void endFolder() {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
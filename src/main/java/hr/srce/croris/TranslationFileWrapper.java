@@ -1,12 +1,13 @@
 package hr.srce.croris;
 
 import java.io.File;
-import java.util.Map;
 
 public class TranslationFileWrapper {
     private final File file;
-    private String writeableString;
-    private Map<String, String> translations;
+    private CharSequence writeableString;
+    private boolean dirty;
+    private TranslationTable translations;
+    private TranslationValueIndex valueIndex;
 
     public TranslationFileWrapper(final File file) {
         this.file = file;
@@ -16,19 +17,35 @@ public class TranslationFileWrapper {
         return file;
     }
 
-    public String getWriteableString() {
+    public CharSequence getWriteableString() {
         return writeableString;
     }
 
-    public void setWriteableString(String writeableString) {
+    public void setWriteableString(CharSequence writeableString) {
         this.writeableString = writeableString;
     }
 
-    public Map<String, String> getTranslations() {
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    public TranslationTable getTranslations() {
         return translations;
     }
 
-    public void setTranslations(Map<String, String> translations) {
+    public void setTranslations(TranslationTable translations) {
         this.translations = translations;
     }
+
+    public TranslationValueIndex getValueIndex() {
+        return valueIndex;
+    }
+
+    public void setValueIndex(TranslationValueIndex valueIndex) {
+        this.valueIndex = valueIndex;
+    }
 }
@@ -0,0 +1,93 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+public final class TranslationFolderDiscovery {
+    private static final String GLOB_SYNTAX = "glob:";
+    private static final String GLOB_CHARACTERS = "*?[{";
+    private static final String CURRENT_FOLDER = ".";
+    private static final Path I18N_FOLDER_PARENT_PATH = Paths.get("src", "main", "resources");
+    private static final String I18N_FOLDER_NAME_PREFIX = "i18n";
+    private static final Set<String> SKIPPED_FOLDER_NAMES = Set.of("node_modules", "target", "build", ".git");
+
+    private TranslationFolderDiscovery() {
+    }
+
+    public static List<String> discover(final File root) throws IOException {
+        final List<String> folderPaths = new ArrayList<>();
+        Files.walkFileTree(root.toPath(), new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                final String folderName = String.valueOf(dir.getFileName());
+                if (SKIPPED_FOLDER_NAMES.contains(folderName)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                if (folderName.startsWith(I18N_FOLDER_NAME_PREFIX) && dir.getParent() != null
+                        && dir.getParent().endsWith(I18N_FOLDER_PARENT_PATH)) {
+                    folderPaths.add(dir.toString());
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(folderPaths);
+        return folderPaths;
+    }
+
+    public static List<String> resolve(final String folderPathOrGlob) throws IOException {
+        int globStart = 0;
+        while (globStart < folderPathOrGlob.length() && GLOB_CHARACTERS.indexOf(folderPathOrGlob.charAt(globStart)) < 0) {
+            globStart++;
+        }
+        if (globStart == folderPathOrGlob.length()) {
+            return List.of(folderPathOrGlob);
+        }
+        final int baseEnd = folderPathOrGlob.lastIndexOf(File.separatorChar, globStart);
+        final Path base;
+        if (baseEnd < 0) {
+            base = Paths.get(CURRENT_FOLDER);
+        } else if (baseEnd == 0) {
+            base = Paths.get(File.separator);
+        } else {
+            base = Paths.get(folderPathOrGlob.substring(0, baseEnd));
+        }
+        final PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher(GLOB_SYNTAX + folderPathOrGlob);
+        final List<String> folderPaths = new ArrayList<>();
+        if (!Files.isDirectory(base)) {
+            return folderPaths;
+        }
+        Files.walkFileTree(base, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                if (SKIPPED_FOLDER_NAMES.contains(String.valueOf(dir.getFileName()))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                final Path folder = dir.normalize();
+                if (pathMatcher.matches(folder)) {
+                    folderPaths.add(folder.toString());
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(folderPaths);
+        return folderPaths;
+    }
+}
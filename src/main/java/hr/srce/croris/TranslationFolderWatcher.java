@@ -0,0 +1,121 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+public class TranslationFolderWatcher {
+    private static final long DEBOUNCE_MILLIS = 20;
+
+    private final TranslationFolderWrapper translationFolderWrapper;
+    private final DiffReportWriter reportWriter;
+    private final WatchService watchService;
+    private final SourceFileFilter sourceFileFilter;
+    private final Map<WatchKey, Path> watchedFolders = new HashMap<>();
+
+    public TranslationFolderWatcher(
+            final TranslationFolderWrapper translationFolderWrapper,
+            final DiffReportWriter reportWriter
+    ) throws IOException {
+        this.translationFolderWrapper = translationFolderWrapper;
+        this.reportWriter = reportWriter;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.sourceFileFilter = translationFolderWrapper.getSourceFileFilter();
+        this.registerFolders(translationFolderWrapper.getSrcFolder().toPath(), new ArrayList<>());
+        if (!this.watchedFolders.containsValue(translationFolderWrapper.getFolder().toPath())) {
+            this.registerFolders(translationFolderWrapper.getFolder().toPath(), new ArrayList<>());
+        }
+    }
+
+    private void registerFolders(final Path root, final Collection<File> foundFiles) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(root) && !sourceFileFilter.acceptFolder(dir.toFile())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                final WatchKey watchKey = dir.register(
+                        watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE
+                );
+                watchedFolders.put(watchKey, dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                foundFiles.add(file.toFile());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    public void watch() throws IOException {
+        try {
+            while (true) {
+                WatchKey watchKey = this.watchService.take();
+                final Set<File> changedFiles = new LinkedHashSet<>();
+                boolean overflow = false;
+                while (watchKey != null) {
+                    overflow |= this.collectChangedFiles(watchKey, changedFiles);
+                    watchKey = this.watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                this.refresh(changedFiles, overflow);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            this.watchService.close();
+        }
+    }
+
+    private boolean collectChangedFiles(final WatchKey watchKey, final Set<File> changedFiles) throws IOException {
+        final Path folder = this.watchedFolders.get(watchKey);
+        boolean overflow = false;
+        for (final WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+            if (watchEvent.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            final Path path = folder.resolve((Path) watchEvent.context());
+            if (watchEvent.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                this.registerFolders(path, changedFiles);
+            } else {
+                changedFiles.add(path.toFile());
+            }
+        }
+        if (!watchKey.reset()) {
+            this.watchedFolders.remove(watchKey);
+        }
+        return overflow;
+    }
+
+    private void refresh(final Set<File> changedFiles, final boolean overflow) throws IOException {
+        final long startTime = System.nanoTime();
+        try {
+            if (overflow) {
+                this.translationFolderWrapper.setFolder(this.translationFolderWrapper.getFolder().getPath());
+            } else {
+                this.translationFolderWrapper.applyFileChanges(changedFiles);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println(e);
+            try {
+                this.translationFolderWrapper.setFolder(this.translationFolderWrapper.getFolder().getPath());
+            } catch (IOException | RuntimeException reloadException) {
+                System.err.println(reloadException);
+                return;
+            }
+        }
+        this.translationFolderWrapper.writeDiffs(this.reportWriter);
+        this.reportWriter.flush();
+        System.err.println("Refreshed in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+    }
+}
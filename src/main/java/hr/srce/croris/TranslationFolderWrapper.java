@@ -1,53 +1,33 @@
 package hr.srce.croris;
 
-import com.github.pemistahl.lingua.api.Language;
-import com.github.pemistahl.lingua.api.LanguageDetector;
-import com.github.pemistahl.lingua.api.LanguageDetectorBuilder;
-
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
 
 public class TranslationFolderWrapper {
     private static final String SRC_FOLDER_SUBSTRING = "/src";
-    private static final Double MINIMUM_LANGUAGE_PROBABILITY = 0.75;
     private static final String TRANSLATION_FILE_NAME_STARTING_SUBSTRING = "messages_";
     private static final String TRANSLATION_FILE_NAME_ENDING_SUBSTRING = ".properties";
-    private static final String TRANSLATION_COMMENT_KEY = "#";
     private static final String LINE_BREAK_KEY = "\\";
     private static final String KEY_VALUE_SPLIT_REGEX = "=";
-    private static final String KEY_LEVEL_INDENTATION_KEY = "\\.";
+    private static final char KEY_LEVEL_SEPARATOR = '.';
     private static final Integer MAX_CHARACTERS_IN_LINE_COUNT = 120;
     private static final String TAB = "  ";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
     private static final String KEY_IN_CORE = "KEY_IN_CORE";
     private static final String KEY_NOT_IN_USE = "KEY_NOT_IN_USE";
     private static final String VALUE_EMPTY = "VALUE_EMPTY";
     private static final String WRONG_LANGUAGE_TRANSLATION = "WRONG_LANGUAGE_TRANSLATION";
     private static final String KEY_MISSING = "KEY_MISSING";
     private static final String DUPLICATE_VALUES = "DUPLICATE_VALUES";
-    private static final List<String> IGNORABLE_ENDING_DIFF_FILE_SUBSTRINGS_TRANSLATION_KEYS = List.of(
-            "js",
-            "html",
-            "java"
-    );
-    private static final List<String> IGNORABLE_ENDING_SUBSTRINGS_TRANSLATION_KEYS = List.of(
-            "create.success",
-            "create.failure",
-            "update.success",
-            "update.failure",
-            "delete.success",
-            "delete.failure"
-    );
-    private static final List<String> IGNORABLE_STARTING_SUBSTRINGS_TRANSLATION_KEYS = List.of(
-            "excel.",
-            "ustanova.export."
-    );
+    static final String DUPLICATE_VALUE_KEYS_SEPARATOR = " -> ";
     private static final Map<String, String> DIFFERENCES_MAP = Map.ofEntries(
             new AbstractMap.SimpleEntry<>(KEY_IN_CORE, "Ključ već postoji u Core modulu."),
             new AbstractMap.SimpleEntry<>(KEY_NOT_IN_USE, "Ključ se ne koristi u projektu."),
@@ -57,31 +37,23 @@ public class TranslationFolderWrapper {
             new AbstractMap.SimpleEntry<>(DUPLICATE_VALUES, "Prijevod se duplicira na više ključeva.")
     );
 
-    private static final Map<String, Language> LANGUAGES_MAP = Map.ofEntries(
-            new AbstractMap.SimpleEntry<>("en", Language.ENGLISH),
-            new AbstractMap.SimpleEntry<>("hr", Language.CROATIAN)
-    );
-
     private Map<String, Map<String, Set<String>>> differencesMap = new HashMap<>();
     private Map<String, TranslationFileWrapper> translationsMap = new HashMap<>();
-    private Set<String> keysCheckedForExistence = new TreeSet<>();
+    private TranslationKeyPresence keyPresence;
     private TranslationFolderWrapper coreWrapper;
-    private boolean isValueBreaking;
-    private String currentValue;
-    private String currentKey;
     private File folder;
     private File srcFolder;
-    private final boolean removeIfKeyExistsInCore;
-    private final boolean removeIfKeyNotInUse;
+    private SourceUsageIndex sourceUsageIndex;
+    private DiffReportWriter reportWriter;
+    private boolean diffsFound;
+    private final TranslationFormatterOptions options;
 
     public TranslationFolderWrapper(
             final String folderPath,
             final boolean removeIfKeyExistsInCore,
             final boolean removeIfKeyNotInUse
     ) throws IOException {
-        this.removeIfKeyExistsInCore = removeIfKeyExistsInCore;
-        this.removeIfKeyNotInUse = removeIfKeyNotInUse;
-        this.setFolder(folderPath);
+        this(folderPath, createOptions(removeIfKeyExistsInCore, removeIfKeyNotInUse));
     }
 
     public TranslationFolderWrapper(
@@ -90,28 +62,116 @@ public class TranslationFolderWrapper {
             final boolean removeIfKeyExistsInCore,
             final boolean removeIfKeyNotInUse
     ) throws IOException {
-        this.removeIfKeyExistsInCore = removeIfKeyExistsInCore;
-        this.removeIfKeyNotInUse = removeIfKeyNotInUse;
-        this.coreWrapper = new TranslationFolderWrapper(coreFolderPath, removeIfKeyExistsInCore, removeIfKeyNotInUse);
+        this(folderPath, coreFolderPath, createOptions(removeIfKeyExistsInCore, removeIfKeyNotInUse));
+    }
+
+    public TranslationFolderWrapper(
+            final String folderPath,
+            final TranslationFormatterOptions options
+    ) throws IOException {
+        this.options = options;
+        this.setFolder(folderPath);
+    }
+
+    public TranslationFolderWrapper(
+            final String folderPath,
+            final String coreFolderPath,
+            final TranslationFormatterOptions options
+    ) throws IOException {
+        this(folderPath, loadCore(coreFolderPath, options), options);
+    }
+
+    public TranslationFolderWrapper(
+            final String folderPath,
+            final TranslationFolderWrapper coreWrapper,
+            final TranslationFormatterOptions options
+    ) throws IOException {
+        this.options = options;
+        this.coreWrapper = coreWrapper;
         this.setFolder(folderPath);
     }
 
+    TranslationFolderWrapper(
+            final String folderPath,
+            final File srcFolder,
+            final TranslationFolderWrapper coreWrapper,
+            final TranslationFormatterOptions options,
+            final DiffReportWriter reportWriter
+    ) throws IOException {
+        this.options = options;
+        this.coreWrapper = coreWrapper;
+        this.reportWriter = reportWriter;
+        this.setFolder(folderPath, srcFolder);
+    }
+
+    private TranslationFolderWrapper(final TranslationFormatterOptions options) {
+        this.options = options;
+    }
+
+    public static TranslationFolderWrapper loadCore(
+            final String coreFolderPath,
+            final TranslationFormatterOptions options
+    ) throws IOException {
+        final TranslationFolderWrapper coreWrapper = new TranslationFolderWrapper(options);
+        coreWrapper.loadFolder(coreFolderPath);
+        return coreWrapper;
+    }
+
+    private static TranslationFormatterOptions createOptions(
+            final boolean removeIfKeyExistsInCore,
+            final boolean removeIfKeyNotInUse
+    ) {
+        final TranslationFormatterOptions options = new TranslationFormatterOptions();
+        options.setRemoveIfKeyExistsInCore(removeIfKeyExistsInCore);
+        options.setRemoveIfKeyNotInUse(removeIfKeyNotInUse);
+        return options;
+    }
+
     private void resetValues() {
-        this.isValueBreaking = false;
-        this.currentValue = "";
-        this.currentKey = "";
-        this.keysCheckedForExistence = new TreeSet<>();
+        this.keyPresence = null;
+        this.diffsFound = false;
         this.differencesMap = new HashMap<>();
         this.translationsMap = new HashMap<>();
     }
 
-    private void writeNormalizedTranslationStringsToFile(final File file, final String writeableString) throws IOException {
-        try (final FileWriter fileWriter = new FileWriter(file, false)) {
-            fileWriter.write(writeableString);
+    static boolean writeNormalizedTranslationStringsToFile(final File file, final CharSequence writeableString) throws IOException {
+        final ByteBuffer writeableBytes = StandardCharsets.UTF_8.newEncoder().encode(CharBuffer.wrap(writeableString));
+        final Path path = file.toPath();
+        if (hasContent(path, writeableBytes)) {
+            return false;
+        }
+        final Path tempPath = path.resolveSibling(file.getName() + TEMP_FILE_SUFFIX);
+        Files.deleteIfExists(tempPath);
+        boolean moved = false;
+        try {
+            try (final FileChannel fileChannel = FileChannel.open(tempPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                while (writeableBytes.hasRemaining()) {
+                    fileChannel.write(writeableBytes);
+                }
+            }
+            try {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            moved = true;
+        } finally {
+            if (!moved) {
+                Files.deleteIfExists(tempPath);
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasContent(final Path path, final ByteBuffer content) throws IOException {
+        try {
+            return Files.size(path) == content.remaining() && ByteBuffer.wrap(Files.readAllBytes(path)).equals(content);
+        } catch (NoSuchFileException e) {
+            return false;
         }
     }
 
-    private int getIndexOfLastSpace(final String string, final int indexLimit) {
+    private static int getIndexOfLastSpace(final String string, final int indexLimit) {
         int stringLength = string.length();
         if (stringLength <= indexLimit) {
             return stringLength - 1;
@@ -119,20 +179,33 @@ public class TranslationFolderWrapper {
         return string.substring(0, indexLimit).lastIndexOf(' ');
     }
 
-    private String getWriteableStringFromTranslationMap(final Map<String, String> map) {
-        StringBuilder writeableString = new StringBuilder();
-        String firstLevelKey = "";
+    private static int estimateWriteableStringLength(final Map<String, String> map) {
+        long length = 0;
+        for (final Map.Entry<String, String> entry : map.entrySet()) {
+            final int valueLength = entry.getValue().length();
+            length += entry.getKey().length() + KEY_VALUE_SPLIT_REGEX.length() + valueLength + 1;
+            length += valueLength / MAX_CHARACTERS_IN_LINE_COUNT * (TAB.length() + LINE_BREAK_KEY.length() + 2);
+        }
+        return (int) Math.min(length + map.size() / 8, Integer.MAX_VALUE - 8);
+    }
+
+    static StringBuilder getWriteableStringFromTranslationMap(final Map<String, String> map) {
+        StringBuilder writeableString = new StringBuilder(estimateWriteableStringLength(map));
+        String firstLevelKeySource = "";
+        int firstLevelKeyLength = 0;
         for (Map.Entry<String, String> entry : map.entrySet()) {
-            String key = normalizeKey(entry.getKey());
-            String value = entry.getValue();
-            String[] keyLevelIndentationStrings = key.split(KEY_LEVEL_INDENTATION_KEY);
-            String currentFirstLevelKey = keyLevelIndentationStrings[0];
+            String normalizedKey = normalizeKey(entry.getKey());
+            String key = PropertiesParser.escapeKey(normalizedKey);
+            String value = PropertiesParser.escapeValue(entry.getValue());
+            int currentFirstLevelKeyLength = normalizedKey.indexOf(KEY_LEVEL_SEPARATOR);
 
-            if (!firstLevelKey.equalsIgnoreCase(currentFirstLevelKey)) {
-                if (!"".equals(firstLevelKey)) {
+            if (currentFirstLevelKeyLength != firstLevelKeyLength
+                    || !normalizedKey.regionMatches(true, 0, firstLevelKeySource, 0, firstLevelKeyLength)) {
+                if (firstLevelKeyLength != 0) {
                     writeableString.append("\n");
                 }
-                firstLevelKey = currentFirstLevelKey;
+                firstLevelKeySource = normalizedKey;
+                firstLevelKeyLength = currentFirstLevelKeyLength;
             }
 
             writeableString.append(key);
@@ -147,6 +220,11 @@ public class TranslationFolderWrapper {
             }
             int charCountSpaceAvailable = MAX_CHARACTERS_IN_LINE_COUNT - keyWithSplitRegexLength;
             int indexOfLastSpace = getIndexOfLastSpace(value, charCountSpaceAvailable - 1);
+            if (indexOfLastSpace < 0) {
+                writeableString.append(value);
+                writeableString.append("\n");
+                continue;
+            }
             writeableString.append(value, 0, indexOfLastSpace);
             writeableString.append(" ");
             writeableString.append(LINE_BREAK_KEY);
@@ -155,6 +233,9 @@ public class TranslationFolderWrapper {
             String remainingValue = value.substring(indexOfLastSpace + 1);
             while (true) {
                 indexOfLastSpace = getIndexOfLastSpace(remainingValue, MAX_CHARACTERS_IN_LINE_COUNT - TAB.length() - 1);
+                if (indexOfLastSpace < 0) {
+                    indexOfLastSpace = remainingValue.length() - 1;
+                }
                 writeableString.append(TAB);
                 String normalizedStringToWrite = remainingValue.substring(0, indexOfLastSpace + 1).trim();
                 writeableString.append(normalizedStringToWrite);
@@ -168,7 +249,7 @@ public class TranslationFolderWrapper {
                 writeableString.append("\n");
             }
         }
-        return writeableString.toString();
+        return writeableString;
     }
 
     private void adjustTranslationFiles() {
@@ -176,11 +257,8 @@ public class TranslationFolderWrapper {
         File[] folderFiles = this.folder.listFiles();
         if (folderFiles != null) {
             for (final File file : folderFiles) {
-                final String fileName = file.getName();
-                if (!file.isDirectory() && fileName.startsWith(TRANSLATION_FILE_NAME_STARTING_SUBSTRING)
-                  && fileName.endsWith(TRANSLATION_FILE_NAME_ENDING_SUBSTRING)) {
-                    final String langCode = fileName.substring(TRANSLATION_FILE_NAME_STARTING_SUBSTRING.length(),
-                            fileName.indexOf(TRANSLATION_FILE_NAME_ENDING_SUBSTRING));
+                final String langCode = getLangCode(file.getName());
+                if (!file.isDirectory() && langCode != null) {
                     final TranslationFileWrapper translationFileWrapper = new TranslationFileWrapper(file);
                     this.translationsMap.put(langCode, translationFileWrapper);
                 }
@@ -188,130 +266,321 @@ public class TranslationFolderWrapper {
         }
     }
 
+    private static String getLangCode(final String fileName) {
+        if (!fileName.startsWith(TRANSLATION_FILE_NAME_STARTING_SUBSTRING)
+                || !fileName.endsWith(TRANSLATION_FILE_NAME_ENDING_SUBSTRING)) {
+            return null;
+        }
+        return fileName.substring(TRANSLATION_FILE_NAME_STARTING_SUBSTRING.length(),
+                fileName.indexOf(TRANSLATION_FILE_NAME_ENDING_SUBSTRING));
+    }
+
+    public File getFolder() {
+        return folder;
+    }
+
+    public File getSrcFolder() {
+        return srcFolder;
+    }
+
+    public SourceFileFilter getSourceFileFilter() {
+        return SourceFileFilter.create(this.srcFolder, this.options);
+    }
+
+    private static File resolveSrcFolder(final String folderPath) {
+        final int srcFolderIndex = folderPath.replace(File.separatorChar, '/').indexOf(SRC_FOLDER_SUBSTRING);
+        if (srcFolderIndex < 0) {
+            throw new IllegalArgumentException("Cannot derive the source folder of " + folderPath);
+        }
+        return new File(folderPath.substring(0, srcFolderIndex + SRC_FOLDER_SUBSTRING.length()));
+    }
+
+    public static boolean isAffectedBy(final String folderPath, final Collection<File> changedFiles) {
+        final Path folder = new File(folderPath).toPath().toAbsolutePath().normalize();
+        final Path srcFolder = resolveSrcFolder(folderPath).toPath().toAbsolutePath().normalize();
+        for (final File changedFile : changedFiles) {
+            final Path changedPath = changedFile.toPath().toAbsolutePath().normalize();
+            if (getLangCode(changedFile.getName()) != null && folder.equals(changedPath.getParent())) {
+                return true;
+            }
+            if (changedPath.startsWith(srcFolder) && SourceUsageIndex.isSourceFile(changedFile)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void setFolder(final String folderPath) throws IOException {
+        this.reportWriter = null;
+        this.setFolder(folderPath, null);
+    }
+
+    private void setFolder(final String folderPath, final File srcFolder) throws IOException {
+        this.loadFolder(folderPath, srcFolder);
+        this.configureDiffsInternally();
+    }
+
+    private void loadFolder(final String folderPath) throws IOException {
+        this.loadFolder(folderPath, null);
+    }
+
+    private void loadFolder(final String folderPath, final File srcFolder) throws IOException {
         this.resetValues();
         File newFolder = new File(folderPath);
         if (!newFolder.exists()){
             throw new FileNotFoundException();
         }
         this.folder = newFolder;
-        final String srcPath = folderPath.substring(0, folderPath.indexOf(SRC_FOLDER_SUBSTRING) + SRC_FOLDER_SUBSTRING.length());
-        this.srcFolder = new File(srcPath);
+        this.srcFolder = srcFolder != null ? srcFolder : resolveSrcFolder(folderPath);
 
+        final RunProfile.StageTimer parseTimer = this.options.getRunProfile().startStage(RunProfile.Stage.PARSE);
         this.adjustTranslationFiles();
         this.applyChangesInternally();
-        this.configureDiffsInternally();
+        parseTimer.stop();
     }
 
     private void applyChangesInternally() throws IOException {
-        for (final Map.Entry<String, TranslationFileWrapper> translationFileWrapperEntry : this.translationsMap.entrySet()) {
-            TranslationFileWrapper translationFileWrapper = translationFileWrapperEntry.getValue();
-            final String langCode = translationFileWrapperEntry.getKey();
-            final Map<String, String> normalizedTranslationStrings = this.normalizeTranslationStrings(langCode);
-            final String writeableString = getWriteableStringFromTranslationMap(normalizedTranslationStrings);
-            translationFileWrapper.setTranslations(normalizedTranslationStrings);
-            translationFileWrapper.setWriteableString(writeableString);
-            translationFileWrapperEntry.setValue(translationFileWrapper);
+        final Map<String, List<Map.Entry<String, String>>> translationEntriesByLangCode =
+                this.runPerLanguage(this.translationsMap.keySet(), this::normalizeTranslationStrings);
+        final TranslationKeyDictionary.Builder keyDictionaryBuilder = TranslationKeyDictionary.builder();
+        translationEntriesByLangCode.forEach((langCode, translationEntries) ->
+                addTranslationEntries(keyDictionaryBuilder, langCode, translationEntries)
+        );
+        this.setTranslationTables(keyDictionaryBuilder.build());
+    }
+
+    private <T> Map<String, T> runPerLanguage(
+            final Collection<String> langCodes,
+            final LanguageTask<T> languageTask
+    ) throws IOException {
+        final Map<String, T> results = new LinkedHashMap<>();
+        this.runPerLanguage(langCodes, languageTask, results::put);
+        return results;
+    }
+
+    private <T> void runPerLanguage(
+            final Collection<String> langCodes,
+            final LanguageTask<T> languageTask,
+            final LanguageResultConsumer<T> resultConsumer
+    ) throws IOException {
+        if (this.options.getThreads() <= 1 || langCodes.size() <= 1) {
+            for (final String langCode : langCodes) {
+                resultConsumer.accept(langCode, languageTask.run(langCode));
+            }
+            return;
+        }
+        final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(this.options.getThreads(), langCodes.size()));
+        try {
+            final Map<String, Future<T>> futures = new LinkedHashMap<>();
+            for (final String langCode : langCodes) {
+                futures.put(langCode, executorService.submit(this.options.getRunProfile().trackWorkerCpuTime(() -> languageTask.run(langCode))));
+            }
+            for (final Map.Entry<String, Future<T>> futureEntry : futures.entrySet()) {
+                resultConsumer.accept(futureEntry.getKey(), futureEntry.getValue().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executorService.shutdownNow();
         }
     }
 
-    public void applyChangesOnDisk() throws IOException {
-        for (final Map.Entry<String, TranslationFileWrapper> translationFileWrapperEntry : this.translationsMap.entrySet()) {
-            final TranslationFileWrapper translationFileWrapper = translationFileWrapperEntry.getValue();
-            final String writeableString = translationFileWrapper.getWriteableString();
-            final File translationFile = translationFileWrapper.getFile();
-            writeNormalizedTranslationStringsToFile(translationFile, writeableString);
+    private void setTranslationTables(final Map<String, TranslationTable> translationTables) {
+        translationTables.forEach((langCode, translationTable) -> {
+            final TranslationFileWrapper translationFileWrapper = this.translationsMap.get(langCode);
+            translationFileWrapper.setTranslations(translationTable);
+            translationFileWrapper.setDirty(true);
+        });
+    }
+
+    private List<String> getTranslationKeys() {
+        for (final TranslationFileWrapper translationFileWrapper : this.translationsMap.values()) {
+            return translationFileWrapper.getTranslations().getKeyDictionary().getKeys();
         }
+        return Collections.emptyList();
     }
 
-    private String normalizeKey(final String key) {
-        String[] keyLevelIndentationStrings = key.split(KEY_LEVEL_INDENTATION_KEY);
-        String currentFirstLevelKey = keyLevelIndentationStrings[0];
-        String otherLevelKeys = String.join(".", Arrays.asList(keyLevelIndentationStrings).subList(1, keyLevelIndentationStrings.length));
-        return currentFirstLevelKey + "." + otherLevelKeys;
+    private List<String> getUsageKeys() {
+        final Set<String> usageKeys = new HashSet<>();
+        for (final TranslationFileWrapper translationFileWrapper : this.translationsMap.values()) {
+            usageKeys.addAll(translationFileWrapper.getTranslations().keySet());
+        }
+        return new ArrayList<>(usageKeys);
     }
 
-    private Map<String, String> normalizeTranslationStrings(final String langCode) throws IOException {
-        final TranslationFileWrapper translationFileWrapper = this.translationsMap.get(langCode);
-        final File file = translationFileWrapper.getFile();
-        final Path path = Paths.get(file.toURI());
-        List<String> normalizedTranslationStrings = Files.readAllLines(path).stream()
-                .filter(line -> !line.isBlank() && !line.startsWith(TRANSLATION_COMMENT_KEY))
-                .map(String::trim)
-                .collect(Collectors.toList());
-
-        Map<String, String> translationsMapInner = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        normalizedTranslationStrings.forEach(line -> {
-            if (isValueBreaking) {
-                currentValue = currentValue.substring(0, currentValue.length() - 1);
-                currentValue = currentValue.trim();
-                currentValue += " " + line;
-            } else {
-                String[] paramSplit = line.split(KEY_VALUE_SPLIT_REGEX);
-                currentKey = normalizeKey(paramSplit[0]);
-                currentValue = String.join("", Arrays.asList(paramSplit).subList(1, paramSplit.length));
+    private Set<String> getUsageKeys(final Collection<String> translationKeys) {
+        final Set<String> usageKeys = new HashSet<>();
+        for (final TranslationFileWrapper translationFileWrapper : this.translationsMap.values()) {
+            final TranslationTable translations = translationFileWrapper.getTranslations();
+            for (final String translationKey : translationKeys) {
+                final int keyId = translations.getKeyDictionary().getKeyId(translationKey);
+                if (keyId >= 0 && translations.containsKeyId(keyId)) {
+                    usageKeys.add(translations.getKey(keyId));
+                }
             }
+        }
+        return usageKeys;
+    }
 
-            isValueBreaking = currentValue.endsWith(LINE_BREAK_KEY);
-            if (!isValueBreaking) {
-                translationsMapInner.put(currentKey, currentValue);
+    private static Map<String, TranslationTable> getTranslationTables(final Map<String, TranslationFileWrapper> translationsMap) {
+        final Map<String, TranslationTable> translationTables = new TreeMap<>();
+        translationsMap.forEach((langCode, translationFileWrapper) ->
+                translationTables.put(langCode, translationFileWrapper.getTranslations())
+        );
+        return translationTables;
+    }
+
+    private TranslationKeyPresence computeKeyPresence() {
+        return TranslationKeyPresence.compute(
+                getTranslationTables(this.translationsMap),
+                this.coreWrapper == null ? Collections.emptyMap() : getTranslationTables(this.coreWrapper.translationsMap)
+        );
+    }
+
+    Map<File, String> getProposedContents() {
+        final Map<File, String> proposedContents = new LinkedHashMap<>();
+        new TreeMap<>(this.translationsMap).values().forEach(translationFileWrapper ->
+                proposedContents.put(translationFileWrapper.getFile(), translationFileWrapper.getWriteableString().toString())
+        );
+        return proposedContents;
+    }
+
+    public void applyChangesOnDisk() throws IOException {
+        final RunProfile runProfile = this.options.getRunProfile();
+        final RunProfile.StageTimer writeTimer = runProfile.startStage(RunProfile.Stage.WRITE);
+        this.runPerLanguage(this.translationsMap.keySet(), langCode -> {
+            final TranslationFileWrapper translationFileWrapper = this.translationsMap.get(langCode);
+            final CharSequence writeableString = translationFileWrapper.getWriteableString();
+            final File translationFile = translationFileWrapper.getFile();
+            if (writeNormalizedTranslationStringsToFile(translationFile, writeableString)) {
+                runProfile.increment(RunProfile.Counter.FILES_WRITTEN);
             }
+            return null;
         });
-        return translationsMapInner;
+        writeTimer.stop();
     }
 
-    private static boolean isStringUpperCase(final String str){
-        char[] charArray = str.toCharArray();
-        for (char ch : charArray) {
-            if (!Character.isWhitespace(ch) && !Character.isUpperCase(ch)) {
-                return false;
-            }
+    private static String normalizeKey(final String key) {
+        int keyLength = key.length();
+        while (keyLength > 0 && key.charAt(keyLength - 1) == KEY_LEVEL_SEPARATOR) {
+            keyLength--;
         }
-        return true;
+        final int firstSeparatorIndex = key.indexOf(KEY_LEVEL_SEPARATOR);
+        if (firstSeparatorIndex >= 0 && firstSeparatorIndex < keyLength) {
+            return keyLength == key.length() ? key : key.substring(0, keyLength);
+        }
+        return key.substring(0, keyLength) + KEY_LEVEL_SEPARATOR;
     }
 
-    private List<File> listFilesInternal(final File folder) {
-        if (folder == null) return Collections.emptyList();
-        File[] files = folder.listFiles();
-        if (files == null) return Collections.emptyList();
-        return Arrays.stream(files).collect(Collectors.toList());
+    private List<Map.Entry<String, String>> normalizeTranslationStrings(final String langCode) throws IOException {
+        final TranslationFileWrapper translationFileWrapper = this.translationsMap.get(langCode);
+        final RunProfile runProfile = this.options.getRunProfile();
+        runProfile.increment(RunProfile.Counter.TRANSLATION_FILES_PARSED);
+        runProfile.add(RunProfile.Counter.TRANSLATION_BYTES_PARSED, translationFileWrapper.getFile().length());
+        return parseTranslationEntries(translationFileWrapper.getFile());
     }
 
-    private boolean stringExistsInProject(final String str, final File folder) throws IOException {
-        if (IGNORABLE_ENDING_SUBSTRINGS_TRANSLATION_KEYS.stream().anyMatch(str::endsWith)) return true;
-        if (IGNORABLE_STARTING_SUBSTRINGS_TRANSLATION_KEYS.stream().anyMatch(str::startsWith)) return true;
-        List<File> files = listFilesInternal(folder);
+    private static List<Map.Entry<String, String>> parseTranslationEntries(final File file) throws IOException {
+        final List<Map.Entry<String, String>> translationEntries = new ArrayList<>();
+        PropertiesParser.parse(file.toPath(), (key, value) ->
+                translationEntries.add(new AbstractMap.SimpleImmutableEntry<>(normalizeKey(key), value))
+        );
+        return translationEntries;
+    }
 
-        for (final File fileEntry : files) {
-            if (fileEntry.isDirectory()) {
-                if (stringExistsInProject(str, fileEntry)) {
-                    return true;
-                }
-            } else {
-                final String fileName = fileEntry.getName();
-                if (IGNORABLE_ENDING_DIFF_FILE_SUBSTRINGS_TRANSLATION_KEYS.stream().anyMatch(fileName::endsWith)) {
-                    final String fileContent = new String(Files.readAllBytes(Paths.get(fileEntry.toURI())));
-                    if (fileContent.contains(str)) {
-                        return true;
-                    }
+    private static void addTranslationEntries(
+            final TranslationKeyDictionary.Builder keyDictionaryBuilder,
+            final String langCode,
+            final List<Map.Entry<String, String>> translationEntries
+    ) {
+        keyDictionaryBuilder.addLanguage(langCode);
+        for (final Map.Entry<String, String> translationEntry : translationEntries) {
+            keyDictionaryBuilder.put(langCode, translationEntry.getKey(), translationEntry.getValue());
+        }
+    }
+
+    static TranslationTable parseTranslationFile(final File file) throws IOException {
+        final TranslationKeyDictionary.Builder keyDictionaryBuilder = TranslationKeyDictionary.builder();
+        addTranslationEntries(keyDictionaryBuilder, file.getName(), parseTranslationEntries(file));
+        return keyDictionaryBuilder.build().get(file.getName());
+    }
+
+    private SourceUsageIndex buildSourceUsageIndex() throws IOException {
+        final List<String> usageKeys = this.getUsageKeys();
+        if (this.options.isWatch()) {
+            return IncrementalSourceUsageIndex.build(this.srcFolder, usageKeys, this.options);
+        }
+        return SourceUsageIndex.build(this.srcFolder, this.folder, usageKeys, this.options);
+    }
+
+    private LanguageVerifier createLanguageVerifier() {
+        return new LanguageVerifier(this.options.getLanguageCheckMode(), this.options.getThreads(), this.options.getRunProfile());
+    }
+
+    private Map<String, Map<String, String>> getTranslationsToVerify(final Set<String> translationKeys) {
+        final Map<String, Map<String, String>> translationsByLangCode = new HashMap<>();
+        this.translationsMap.forEach((langCode, translationFileWrapper) -> {
+            final Map<String, String> translations = translationFileWrapper.getTranslations();
+            if (translationKeys == null) {
+                translationsByLangCode.put(langCode, translations);
+                return;
+            }
+            final Map<String, String> changedTranslations = new HashMap<>();
+            for (final String translationKey : translationKeys) {
+                final String translationValue = translations.get(translationKey);
+                if (translationValue != null) {
+                    changedTranslations.put(translationKey, translationValue);
                 }
             }
+            translationsByLangCode.put(langCode, changedTranslations);
+        });
+        return translationsByLangCode;
+    }
+
+    private void execAppropriateChangeForDiff(
+            final String diffKey,
+            final String translationKey,
+            final Set<String> translationKeysToRemove
+    ) {
+        if ((this.options.isRemoveIfKeyExistsInCore() && KEY_IN_CORE.equals(diffKey))
+                || (this.options.isRemoveIfKeyNotInUse() && KEY_NOT_IN_USE.equals(diffKey))) {
+            translationKeysToRemove.add(translationKey);
         }
+    }
 
-        return false;
+    private void removeTranslations(final Set<String> translationKeysToRemove) throws IOException {
+        this.runPerLanguage(this.translationsMap.keySet(), langCode -> {
+            final TranslationFileWrapper translationFileWrapper = this.translationsMap.get(langCode);
+            final TranslationTable translations = translationFileWrapper.getTranslations();
+            for (final String translationKey : translationKeysToRemove) {
+                if (translations.removeKey(translationKey)) {
+                    translationFileWrapper.setDirty(true);
+                }
+            }
+            return null;
+        });
     }
 
-    private void execAppropriateChangeForDiff(final String diffKey, final String translationKey) {
-        if ((this.removeIfKeyExistsInCore && KEY_IN_CORE.equals(diffKey))
-                || (this.removeIfKeyNotInUse && KEY_NOT_IN_USE.equals(diffKey))) {
-            for (Map.Entry<String, TranslationFileWrapper> entry : translationsMap.entrySet()) {
-                TranslationFileWrapper translationFileWrapper = entry.getValue();
-                translationFileWrapper.getTranslations().remove(translationKey);
-                final String writeableString = getWriteableStringFromTranslationMap(translationFileWrapper.getTranslations());
-                translationFileWrapper.setWriteableString(writeableString);
-                entry.setValue(translationFileWrapper);
+    private void serializeDirtyTranslationFiles() throws IOException {
+        final RunProfile.StageTimer serialiseTimer = this.options.getRunProfile().startStage(RunProfile.Stage.SERIALISE);
+        this.runPerLanguage(this.translationsMap.keySet(), langCode -> {
+            final TranslationFileWrapper translationFileWrapper = this.translationsMap.get(langCode);
+            if (translationFileWrapper.isDirty()) {
+                translationFileWrapper.setWriteableString(getWriteableStringFromTranslationMap(translationFileWrapper.getTranslations()));
+                translationFileWrapper.setDirty(false);
             }
-        }
+            return null;
+        });
+        serialiseTimer.stop();
     }
 
     private void putToMapWhereValuesAreLists(final Map<String, Set<String>> map, final String key, final String newValue) {
@@ -324,99 +593,460 @@ public class TranslationFolderWrapper {
     }
 
     private void configureDiffsInternally() throws IOException {
-        Language[] languageList = new ArrayList<>(LANGUAGES_MAP.values()).toArray(new Language[0]);
-        final LanguageDetector languageDetector = LanguageDetectorBuilder.fromLanguages(languageList).build();
-        for (final Map.Entry<String, TranslationFileWrapper> translationFileWrapperEntry : this.translationsMap.entrySet()) {
-            final String langCode = translationFileWrapperEntry.getKey();
-            Map<String, Set<String>> differencesByTypeOfDiff = new HashMap<>();
+        if (this.options.getChangedFiles() != null) {
+            this.configureChangedDiffsInternally(this.options.getChangedFiles());
+            return;
+        }
+        final RunProfile runProfile = this.options.getRunProfile();
+        final LanguageVerifier languageVerifier = this.createLanguageVerifier();
+        final Map<String, Map<String, String>> translationsToVerify = this.getTranslationsToVerify(null);
+        languageVerifier.preload(translationsToVerify);
+        final RunProfile.StageTimer sourceScanTimer = runProfile.startStage(RunProfile.Stage.SOURCE_SCAN);
+        this.sourceUsageIndex = this.buildSourceUsageIndex();
+        sourceScanTimer.stop();
+        final RunProfile.StageTimer languageDetectionTimer = runProfile.startStage(RunProfile.Stage.LANGUAGE_DETECTION);
+        final Map<String, Set<String>> wrongLanguageKeys = languageVerifier.findWrongLanguageKeys(translationsToVerify);
+        languageDetectionTimer.stop();
+        final RunProfile.StageTimer diffTimer = runProfile.startStage(RunProfile.Stage.DIFF);
+        this.keyPresence = this.computeKeyPresence();
+        final Set<String> translationKeysToRemove = new HashSet<>();
+        this.startReportFolder();
+        this.runPerLanguage(this.translationsMap.keySet(), langCode -> {
+            final Map<String, Set<String>> differencesByTypeOfDiff = new HashMap<>();
 
-            final TranslationFileWrapper translationFileWrapper = translationFileWrapperEntry.getValue();
-            final Map<String, String> translations = translationFileWrapper.getTranslations();
+            final TranslationFileWrapper translationFileWrapper = this.translationsMap.get(langCode);
+            final TranslationTable translations = translationFileWrapper.getTranslations();
+            final TranslationValueIndex translationValueIndex = new TranslationValueIndex(translations);
+            translationFileWrapper.setValueIndex(translationValueIndex);
+            handleDuplicateValues(differencesByTypeOfDiff, translationValueIndex);
 
-            for (final Map.Entry<String, String> translationsEntry : translations.entrySet()) {
-                final String translationKey = translationsEntry.getKey();
-                if (!this.keysCheckedForExistence.contains(translationKey)) {
-                    boolean stringExistsInProject = this.stringExistsInProject(translationKey, this.srcFolder);
-                    boolean stringExistsInCore = false;
-                    if (this.coreWrapper != null) {
-                        TranslationFileWrapper coreTranslationFileWrapper = this.coreWrapper.translationsMap.get(langCode);
-                        final String coreTranslationForGivenKey = coreTranslationFileWrapper.getTranslations().get(translationKey);
-                        stringExistsInCore = coreTranslationForGivenKey != null;
-                    }
-                    if (stringExistsInCore) {
-                        this.putToMapWhereValuesAreLists(differencesByTypeOfDiff, KEY_IN_CORE, translationKey);
-                    } else if (!stringExistsInProject) {
-                        this.putToMapWhereValuesAreLists(differencesByTypeOfDiff, KEY_NOT_IN_USE, translationKey);
-                    }
-                }
-                this.keysCheckedForExistence.add(translationKey);
-                final String translationValue = translationsEntry.getValue().trim();
+            final BitSet keyIds = translations.getKeyIds();
+            for (int keyId = keyIds.nextSetBit(0); keyId >= 0; keyId = keyIds.nextSetBit(keyId + 1)) {
+                this.configureTranslationDiffs(
+                        langCode,
+                        translations,
+                        keyId,
+                        differencesByTypeOfDiff,
+                        wrongLanguageKeys
+                );
+            }
+            return differencesByTypeOfDiff;
+        }, (langCode, differencesByTypeOfDiff) -> {
+            this.handleLanguageDiffs(langCode, differencesByTypeOfDiff);
+            differencesByTypeOfDiff.forEach((diffKey, translationKeySet) ->
+                    translationKeySet.forEach(translationKey ->
+                            this.execAppropriateChangeForDiff(diffKey, translationKey, translationKeysToRemove)
+                    )
+            );
+        });
+        this.endReportFolder();
+        this.removeTranslations(translationKeysToRemove);
+        diffTimer.stop();
+        this.serializeDirtyTranslationFiles();
+    }
 
-                handleDuplicateValues(differencesByTypeOfDiff, translations, translationKey, translationValue);
+    private void configureChangedDiffsInternally(final Set<File> changedFiles) throws IOException {
+        final RunProfile runProfile = this.options.getRunProfile();
+        final Set<String> changedKeys = this.findChangedKeys(changedFiles);
+        final LanguageVerifier languageVerifier = this.createLanguageVerifier();
+        final Map<String, Map<String, String>> translationsToVerify = this.getTranslationsToVerify(changedKeys);
+        languageVerifier.preload(translationsToVerify);
+        final RunProfile.StageTimer sourceScanTimer = runProfile.startStage(RunProfile.Stage.SOURCE_SCAN);
+        final Path srcPath = this.srcFolder.toPath().toAbsolutePath().normalize();
+        final List<File> changedSourceFiles = new ArrayList<>();
+        for (final File changedFile : changedFiles) {
+            if (changedFile.toPath().startsWith(srcPath) && SourceUsageIndex.isSourceFile(changedFile)) {
+                changedSourceFiles.add(changedFile);
+            }
+        }
+        final List<String> translationKeys = this.getTranslationKeys();
+        final Set<String> candidateKeys = new HashSet<>(changedKeys);
+        candidateKeys.addAll(SourceUsageIndex.findKeysWithRemovedReferences(
+                this.getUsageKeys(),
+                changedSourceFiles,
+                this.getSourceFileFilter()
+        ));
+        final Set<String> keysToCheck = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (final String candidateKey : candidateKeys) {
+            final int keyId = this.getKeyId(candidateKey);
+            if (keyId >= 0) {
+                keysToCheck.add(translationKeys.get(keyId));
+            }
+        }
+        this.sourceUsageIndex = SourceUsageIndex.build(
+                this.srcFolder,
+                this.folder,
+                this.getUsageKeys(keysToCheck),
+                changedSourceFiles,
+                this.options
+        );
+        sourceScanTimer.stop();
+        final RunProfile.StageTimer languageDetectionTimer = runProfile.startStage(RunProfile.Stage.LANGUAGE_DETECTION);
+        final Map<String, Set<String>> wrongLanguageKeys = languageVerifier.findWrongLanguageKeys(translationsToVerify);
+        languageDetectionTimer.stop();
+        final RunProfile.StageTimer diffTimer = runProfile.startStage(RunProfile.Stage.DIFF);
+        this.keyPresence = this.computeKeyPresence();
+        this.startReportFolder();
+        this.runPerLanguage(this.translationsMap.keySet(), langCode -> {
+            final Map<String, Set<String>> differencesByTypeOfDiff = new HashMap<>();
+
+            final TranslationFileWrapper translationFileWrapper = this.translationsMap.get(langCode);
+            final TranslationTable translations = translationFileWrapper.getTranslations();
+            final TranslationValueIndex translationValueIndex = new TranslationValueIndex(translations);
+            translationFileWrapper.setValueIndex(translationValueIndex);
+            handleDuplicateValues(
+                    differencesByTypeOfDiff,
+                    translationValueIndex,
+                    duplicatedKeys -> duplicatedKeys.stream().anyMatch(changedKeys::contains)
+            );
 
-                if ("".equals(translationValue)) {
-                    this.putToMapWhereValuesAreLists(differencesByTypeOfDiff, VALUE_EMPTY, translationKey);
+            for (final String translationKey : keysToCheck) {
+                final int keyId = translations.getKeyDictionary().getKeyId(translationKey);
+                if (keyId < 0 || !translations.containsKeyId(keyId)) {
+                    continue;
+                }
+                if (changedKeys.contains(translationKey)) {
+                    this.configureTranslationDiffs(langCode, translations, keyId, differencesByTypeOfDiff, wrongLanguageKeys);
                 } else {
-                    final String detectedLangCode = languageDetector.detectLanguageOf(translationValue).getIsoCode639_1().toString();
-                    if (!langCode.equals(detectedLangCode)) {
-                        final Double languageProbability = languageDetector.computeLanguageConfidenceValues(translationValue).get(LANGUAGES_MAP.get(langCode));
-                        if (!isStringUpperCase(translationValue) && (languageProbability == null || languageProbability < MINIMUM_LANGUAGE_PROBABILITY)) {
-                            this.putToMapWhereValuesAreLists(differencesByTypeOfDiff, WRONG_LANGUAGE_TRANSLATION, translationKey);
-                        }
-                    }
+                    this.options.getRunProfile().increment(RunProfile.Counter.KEYS_CHECKED);
+                    this.configureKeyUsageDiffs(langCode, translations.getKey(keyId), keyId, differencesByTypeOfDiff);
                 }
+            }
+            return differencesByTypeOfDiff;
+        }, this::handleLanguageDiffs);
+        this.endReportFolder();
+        diffTimer.stop();
+    }
 
-                for (final Map.Entry<String, TranslationFileWrapper> translationFileWrapperEntryInner : this.translationsMap.entrySet()) {
-                    final String langCodeInner = translationFileWrapperEntryInner.getKey();
-                    final TranslationFileWrapper translationFileWrapperInner = translationFileWrapperEntryInner.getValue();
-                    final Map<String, String> translationsInner = translationFileWrapperInner.getTranslations();
-                    if (!langCode.equals(langCodeInner)) {
-                        final String translationValueInner = translationsInner.get(translationKey);
-                        if (translationValueInner == null) {
-                            this.putToMapWhereValuesAreLists(differencesByTypeOfDiff, KEY_MISSING, translationKey);
-                        }
-                    }
+    private Set<String> findChangedKeys(final Set<File> changedFiles) throws IOException {
+        final Set<String> changedKeys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        final Path folderPath = this.folder.toPath().toAbsolutePath().normalize();
+        for (final File changedFile : changedFiles) {
+            final String langCode = getLangCode(changedFile.getName());
+            if (langCode == null || !folderPath.equals(changedFile.toPath().getParent())) {
+                continue;
+            }
+            final TranslationFileWrapper translationFileWrapper = this.translationsMap.get(langCode);
+            final Map<String, String> translations = translationFileWrapper == null
+                    ? Collections.emptyMap()
+                    : translationFileWrapper.getTranslations();
+            final byte[] headContent = GitHeadRevision.read(changedFile);
+            if (headContent == null) {
+                changedKeys.addAll(translations.keySet());
+                continue;
+            }
+            final Map<String, String> headTranslations = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            PropertiesParser.parse(
+                    new InputStreamReader(new ByteArrayInputStream(headContent), StandardCharsets.UTF_8),
+                    (key, value) -> headTranslations.put(normalizeKey(key), value)
+            );
+            translations.forEach((translationKey, translationValue) -> {
+                if (!translationValue.equals(headTranslations.get(translationKey))) {
+                    changedKeys.add(translationKey);
+                }
+            });
+            for (final String translationKey : headTranslations.keySet()) {
+                if (!translations.containsKey(translationKey)) {
+                    changedKeys.add(translationKey);
                 }
             }
+        }
+        return changedKeys;
+    }
 
+    private int getKeyId(final String translationKey) {
+        for (final TranslationFileWrapper translationFileWrapper : this.translationsMap.values()) {
+            return translationFileWrapper.getTranslations().getKeyDictionary().getKeyId(translationKey);
+        }
+        return -1;
+    }
+
+    public boolean hasDiffs() {
+        return this.diffsFound;
+    }
+
+    private boolean isRetainingDiffs() {
+        return this.reportWriter == null || this.options.isWatch();
+    }
+
+    private void startReportFolder() throws IOException {
+        if (this.reportWriter != null) {
+            this.reportWriter.startFolder(this.folder);
+        }
+    }
+
+    private void endReportFolder() throws IOException {
+        if (this.reportWriter != null) {
+            this.reportWriter.endFolder();
+        }
+    }
+
+    private void handleLanguageDiffs(final String langCode, final Map<String, Set<String>> differencesByTypeOfDiff) throws IOException {
+        if (differencesByTypeOfDiff.values().stream().anyMatch(translationKeySet -> !translationKeySet.isEmpty())) {
+            this.diffsFound = true;
+        }
+        if (this.reportWriter != null) {
+            this.writeLanguageDiffs(this.reportWriter, langCode, differencesByTypeOfDiff);
+        }
+        if (this.isRetainingDiffs()) {
             this.differencesMap.put(langCode, differencesByTypeOfDiff);
         }
+    }
 
-        this.differencesMap.forEach((langCode, diffSetMap) ->
-                diffSetMap.forEach((diffKey, translationKeySet) ->
-                        translationKeySet.forEach(translationKey -> this.execAppropriateChangeForDiff(diffKey, translationKey))
-                )
-        );
+    private void configureKeyUsageDiffs(
+            final String langCode,
+            final String translationKey,
+            final int keyId,
+            final Map<String, Set<String>> differencesByTypeOfDiff
+    ) {
+        if (this.keyPresence.isOwnedBy(langCode, keyId)) {
+            if (this.keyPresence.isInCore(langCode, keyId)) {
+                this.putToMapWhereValuesAreLists(differencesByTypeOfDiff, KEY_IN_CORE, translationKey);
+            } else if (!this.sourceUsageIndex.isKeyInUse(translationKey)) {
+                this.putToMapWhereValuesAreLists(differencesByTypeOfDiff, KEY_NOT_IN_USE, translationKey);
+            }
+        }
     }
 
-    public void displayDiffs() {
-        System.out.println("Displaying diffs...");
-        System.out.println("***********************************");
-        differencesMap.forEach((langCode, diffsMap) -> {
-            System.out.println(LANGUAGES_MAP.get(langCode).toString().toUpperCase(Locale.ROOT));
-            diffsMap.forEach((diffKey, translationKeySet) -> {
-                System.out.println("  - " + DIFFERENCES_MAP.get(diffKey));
-                translationKeySet.forEach(translationKey -> System.out.println("       " + translationKey));
+    private void configureTranslationDiffs(
+            final String langCode,
+            final TranslationTable translations,
+            final int keyId,
+            final Map<String, Set<String>> differencesByTypeOfDiff,
+            final Map<String, Set<String>> wrongLanguageKeys
+    ) {
+        final String translationKey = translations.getKey(keyId);
+        this.options.getRunProfile().increment(RunProfile.Counter.KEYS_CHECKED);
+        this.configureKeyUsageDiffs(langCode, translationKey, keyId, differencesByTypeOfDiff);
+        final String translationValue = translations.getValue(keyId).trim();
+
+        if ("".equals(translationValue)) {
+            this.putToMapWhereValuesAreLists(differencesByTypeOfDiff, VALUE_EMPTY, translationKey);
+        } else if (wrongLanguageKeys.get(langCode).contains(translationKey)) {
+            this.putToMapWhereValuesAreLists(differencesByTypeOfDiff, WRONG_LANGUAGE_TRANSLATION, translationKey);
+        }
+
+        if (this.keyPresence.isMissing(langCode, keyId)) {
+            this.putToMapWhereValuesAreLists(differencesByTypeOfDiff, KEY_MISSING, translationKey);
+        }
+    }
+
+    public void applyFileChanges(final Collection<File> changedFiles) throws IOException {
+        if (!(this.sourceUsageIndex instanceof IncrementalSourceUsageIndex)) {
+            throw new IllegalStateException();
+        }
+        final IncrementalSourceUsageIndex incrementalSourceUsageIndex = (IncrementalSourceUsageIndex) this.sourceUsageIndex;
+        final Set<String> changedKeys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        final Set<String> changedLangCodes = new HashSet<>();
+        for (final File changedFile : changedFiles) {
+            final String langCode = getLangCode(changedFile.getName());
+            if (langCode != null && this.folder.getAbsoluteFile().equals(changedFile.getAbsoluteFile().getParentFile())) {
+                changedKeys.addAll(this.reloadTranslationFile(langCode, changedFile));
+                changedLangCodes.add(langCode);
+            } else if (SourceUsageIndex.isSourceFile(changedFile)) {
+                changedKeys.addAll(incrementalSourceUsageIndex.updateSourceFile(changedFile));
+            }
+        }
+        if (changedKeys.isEmpty() && changedLangCodes.isEmpty()) {
+            return;
+        }
+        incrementalSourceUsageIndex.addKeys(this.getUsageKeys(changedKeys));
+        this.refreshDiffs(changedKeys, changedLangCodes);
+    }
+
+    private Set<String> reloadTranslationFile(final String langCode, final File file) throws IOException {
+        final TranslationFileWrapper oldTranslationFileWrapper = this.translationsMap.get(langCode);
+        final Map<String, String> oldTranslations = oldTranslationFileWrapper == null
+                ? Collections.emptyMap()
+                : oldTranslationFileWrapper.getTranslations();
+        if (file.isFile()) {
+            if (oldTranslationFileWrapper == null) {
+                this.translationsMap.put(langCode, new TranslationFileWrapper(file));
+            }
+        } else {
+            this.translationsMap.remove(langCode);
+            this.differencesMap.remove(langCode);
+        }
+        final TranslationKeyDictionary.Builder keyDictionaryBuilder = TranslationKeyDictionary.builder();
+        for (final Map.Entry<String, TranslationFileWrapper> translationFileWrapperEntry : this.translationsMap.entrySet()) {
+            if (langCode.equals(translationFileWrapperEntry.getKey())) {
+                addTranslationEntries(keyDictionaryBuilder, langCode, this.normalizeTranslationStrings(langCode));
+            } else {
+                keyDictionaryBuilder.putAll(translationFileWrapperEntry.getKey(), translationFileWrapperEntry.getValue().getTranslations());
+            }
+        }
+        this.setTranslationTables(keyDictionaryBuilder.build());
+        final Map<String, String> newTranslations = file.isFile()
+                ? this.translationsMap.get(langCode).getTranslations()
+                : Collections.emptyMap();
+
+        final Set<String> changedKeys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (oldTranslationFileWrapper == null || !file.isFile()) {
+            changedKeys.addAll(oldTranslations.keySet());
+            for (final TranslationFileWrapper translationFileWrapper : this.translationsMap.values()) {
+                changedKeys.addAll(translationFileWrapper.getTranslations().keySet());
+            }
+            return changedKeys;
+        }
+        oldTranslations.forEach((translationKey, translationValue) -> {
+            if (!translationValue.equals(newTranslations.get(translationKey))) {
+                changedKeys.add(translationKey);
+            }
+        });
+        for (final String translationKey : newTranslations.keySet()) {
+            if (!oldTranslations.containsKey(translationKey)) {
+                changedKeys.add(translationKey);
+            }
+        }
+        return changedKeys;
+    }
+
+    private void refreshDiffs(final Set<String> changedKeys, final Set<String> changedLangCodes) throws IOException {
+        final Map<String, Set<String>> wrongLanguageKeys = this.createLanguageVerifier()
+                .findWrongLanguageKeys(this.getTranslationsToVerify(changedKeys));
+        this.keyPresence = this.computeKeyPresence();
+        for (final String langCode : this.translationsMap.keySet()) {
+            this.differencesMap.computeIfAbsent(langCode, diffs -> new HashMap<>());
+        }
+        this.runPerLanguage(this.translationsMap.keySet(), langCode -> {
+            final Map<String, Set<String>> differencesByTypeOfDiff = this.differencesMap.get(langCode);
+            differencesByTypeOfDiff.forEach((diffKey, translationKeySet) -> {
+                if (!DUPLICATE_VALUES.equals(diffKey)) {
+                    translationKeySet.removeIf(changedKeys::contains);
+                }
             });
+
+            final TranslationFileWrapper translationFileWrapper = this.translationsMap.get(langCode);
+            final TranslationTable translations = translationFileWrapper.getTranslations();
+            if (changedLangCodes.contains(langCode)) {
+                final TranslationValueIndex translationValueIndex = new TranslationValueIndex(translations);
+                translationFileWrapper.setValueIndex(translationValueIndex);
+                differencesByTypeOfDiff.remove(DUPLICATE_VALUES);
+                handleDuplicateValues(differencesByTypeOfDiff, translationValueIndex);
+            }
+
+            for (final String translationKey : changedKeys) {
+                final int keyId = translations.getKeyDictionary().getKeyId(translationKey);
+                if (keyId >= 0 && translations.containsKeyId(keyId)) {
+                    this.configureTranslationDiffs(langCode, translations, keyId, differencesByTypeOfDiff, wrongLanguageKeys);
+                }
+            }
+            differencesByTypeOfDiff.values().removeIf(Set::isEmpty);
+            return null;
         });
-        System.out.println("***********************************");
+        this.serializeDirtyTranslationFiles();
+    }
+
+    static Map<String, String> getDiffDescriptions() {
+        return DIFFERENCES_MAP;
+    }
+
+    public void displayDiffs() {
+        try {
+            final DiffReportWriter reportWriter = new TextDiffReportWriter(
+                    new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset())),
+                    false
+            );
+            this.writeDiffs(reportWriter);
+            reportWriter.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void writeDiffs(final DiffReportWriter reportWriter) throws IOException {
+        if (!this.isRetainingDiffs()) {
+            throw new IllegalStateException();
+        }
+        reportWriter.startFolder(this.folder);
+        for (final Map.Entry<String, Map<String, Set<String>>> differencesMapEntry : this.differencesMap.entrySet()) {
+            this.writeLanguageDiffs(reportWriter, differencesMapEntry.getKey(), differencesMapEntry.getValue());
+        }
+        reportWriter.endFolder();
+    }
+
+    private void writeLanguageDiffs(
+            final DiffReportWriter reportWriter,
+            final String langCode,
+            final Map<String, Set<String>> differencesByTypeOfDiff
+    ) throws IOException {
+        final TranslationFileWrapper translationFileWrapper = this.translationsMap.get(langCode);
+        final File translationFile = translationFileWrapper.getFile();
+        reportWriter.startLanguage(langCode);
+        for (final Map.Entry<String, Set<String>> diffsEntry : differencesByTypeOfDiff.entrySet()) {
+            final String diffKey = diffsEntry.getKey();
+            final String diffDescription = DIFFERENCES_MAP.get(diffKey);
+            if (DUPLICATE_VALUES.equals(diffKey)) {
+                final Map<String, Map.Entry<String, Set<String>>> duplicatedValuesByDiff = new HashMap<>();
+                translationFileWrapper.getValueIndex().getDuplicatedValues().forEach((translationValue, translationKeys) ->
+                        duplicatedValuesByDiff.put(
+                                getDuplicateValuesDiff(translationValue, translationKeys),
+                                new AbstractMap.SimpleEntry<>(translationValue, translationKeys)
+                        )
+                );
+                for (final String diff : diffsEntry.getValue()) {
+                    final Map.Entry<String, Set<String>> duplicatedValue = duplicatedValuesByDiff.get(diff);
+                    reportWriter.writeFinding(new DiffFinding(
+                            langCode,
+                            translationFile,
+                            diffKey,
+                            diffDescription,
+                            duplicatedValue.getKey(),
+                            new ArrayList<>(duplicatedValue.getValue())
+                    ));
+                }
+                continue;
+            }
+            for (final String translationKey : diffsEntry.getValue()) {
+                reportWriter.writeFinding(new DiffFinding(
+                        langCode,
+                        translationFile,
+                        diffKey,
+                        diffDescription,
+                        null,
+                        List.of(translationKey),
+                        KEY_MISSING.equals(diffKey)
+                                ? this.keyPresence.getLangCodesMissingKey(this.keyPresence.getKeyId(translationKey))
+                                : List.of()
+                ));
+            }
+        }
+    }
+
+    private static String getDuplicateValuesDiff(final String translationValue, final Set<String> translationKeys) {
+        return translationValue + DUPLICATE_VALUE_KEYS_SEPARATOR + String.join(", ", translationKeys);
     }
 
     private void handleDuplicateValues(
-            final  Map<String, Set<String>> differencesByTypeOfDiff,
-            final Map<String, String> translations,
-            final String translationKey,
-            final String translationValue
+            final Map<String, Set<String>> differencesByTypeOfDiff,
+            final TranslationValueIndex translationValueIndex
     ) {
-        var isDuplicateEntry = translations.entrySet()
-                .stream()
-                .anyMatch(entry -> {
-                    var key = entry.getKey();
-                    var value = entry.getValue();
-                    return !key.equals(translationKey) && translationValue.equals(value);
-                });
-        if (isDuplicateEntry) {
-            this.putToMapWhereValuesAreLists(differencesByTypeOfDiff, DUPLICATE_VALUES, translationValue);
-        }
+        this.handleDuplicateValues(differencesByTypeOfDiff, translationValueIndex, translationKeys -> true);
+    }
+
+    private void handleDuplicateValues(
+            final Map<String, Set<String>> differencesByTypeOfDiff,
+            final TranslationValueIndex translationValueIndex,
+            final Predicate<Set<String>> duplicatedKeysFilter
+    ) {
+        translationValueIndex.getDuplicatedValues().forEach((translationValue, translationKeys) -> {
+            if (duplicatedKeysFilter.test(translationKeys)) {
+                this.putToMapWhereValuesAreLists(
+                        differencesByTypeOfDiff,
+                        DUPLICATE_VALUES,
+                        getDuplicateValuesDiff(translationValue, translationKeys)
+                );
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface LanguageTask<T> {
+        T run(String langCode) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface LanguageResultConsumer<T> {
+        void accept(String langCode, T result) throws IOException;
     }
 }
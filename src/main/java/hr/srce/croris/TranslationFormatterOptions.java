@@ -0,0 +1,123 @@
+package hr.srce.croris;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class TranslationFormatterOptions {
+    private boolean removeIfKeyExistsInCore = true;
+    private boolean removeIfKeyNotInUse = false;
+    private int threads = 1;
+    private File usageCacheFile;
+    private LanguageCheckMode languageCheckMode = LanguageCheckMode.ACCURATE;
+    private boolean watch = false;
+    private long maxSourceFileSize = SourceFileFilter.NO_SIZE_LIMIT;
+    private List<String> excludeSourceGlobs = SourceFileFilter.DEFAULT_EXCLUDE_GLOBS;
+    private Set<File> changedFiles;
+    private RunProfile runProfile = new RunProfile();
+
+    public TranslationFormatterOptions copy() {
+        final TranslationFormatterOptions options = new TranslationFormatterOptions();
+        options.setRemoveIfKeyExistsInCore(this.removeIfKeyExistsInCore);
+        options.setRemoveIfKeyNotInUse(this.removeIfKeyNotInUse);
+        options.setThreads(this.threads);
+        options.setUsageCacheFile(this.usageCacheFile);
+        options.setLanguageCheckMode(this.languageCheckMode);
+        options.setWatch(this.watch);
+        options.setMaxSourceFileSize(this.maxSourceFileSize);
+        options.setExcludeSourceGlobs(this.excludeSourceGlobs);
+        options.setChangedFiles(this.changedFiles);
+        options.setRunProfile(this.runProfile);
+        return options;
+    }
+
+    public boolean isRemoveIfKeyExistsInCore() {
+        return removeIfKeyExistsInCore;
+    }
+
+    public void setRemoveIfKeyExistsInCore(boolean removeIfKeyExistsInCore) {
+        this.removeIfKeyExistsInCore = removeIfKeyExistsInCore;
+    }
+
+    public boolean isRemoveIfKeyNotInUse() {
+        return removeIfKeyNotInUse;
+    }
+
+    public void setRemoveIfKeyNotInUse(boolean removeIfKeyNotInUse) {
+        this.removeIfKeyNotInUse = removeIfKeyNotInUse;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public File getUsageCacheFile() {
+        return usageCacheFile;
+    }
+
+    public void setUsageCacheFile(File usageCacheFile) {
+        this.usageCacheFile = usageCacheFile;
+    }
+
+    public LanguageCheckMode getLanguageCheckMode() {
+        return languageCheckMode;
+    }
+
+    public void setLanguageCheckMode(LanguageCheckMode languageCheckMode) {
+        this.languageCheckMode = languageCheckMode;
+    }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    public long getMaxSourceFileSize() {
+        return maxSourceFileSize;
+    }
+
+    public void setMaxSourceFileSize(long maxSourceFileSize) {
+        this.maxSourceFileSize = maxSourceFileSize;
+    }
+
+    public List<String> getExcludeSourceGlobs() {
+        return excludeSourceGlobs;
+    }
+
+    public void setExcludeSourceGlobs(List<String> excludeSourceGlobs) {
+        this.excludeSourceGlobs = List.copyOf(excludeSourceGlobs);
+    }
+
+    public Set<File> getChangedFiles() {
+        return changedFiles;
+    }
+
+    public void setChangedFiles(Collection<File> changedFiles) {
+        if (changedFiles == null) {
+            this.changedFiles = null;
+            return;
+        }
+        final Set<File> normalizedChangedFiles = new HashSet<>();
+        for (final File changedFile : changedFiles) {
+            normalizedChangedFiles.add(changedFile.toPath().toAbsolutePath().normalize().toFile());
+        }
+        this.changedFiles = Set.copyOf(normalizedChangedFiles);
+    }
+
+    public RunProfile getRunProfile() {
+        return runProfile;
+    }
+
+    public void setRunProfile(RunProfile runProfile) {
+        this.runProfile = runProfile;
+    }
+}
@@ -0,0 +1,116 @@
+package hr.srce.croris;
+
+import java.util.*;
+
+public class TranslationKeyDictionary {
+    private final String[] keys;
+
+    private TranslationKeyDictionary(final String[] keys) {
+        this.keys = keys;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return this.keys.length;
+    }
+
+    public String getKey(final int keyId) {
+        return this.keys[keyId];
+    }
+
+    public List<String> getKeys() {
+        return Collections.unmodifiableList(Arrays.asList(this.keys));
+    }
+
+    public int getKeyId(final String key) {
+        final int keyId = Arrays.binarySearch(this.keys, key, String.CASE_INSENSITIVE_ORDER);
+        return keyId < 0 ? -1 : keyId;
+    }
+
+    public static class Builder {
+        private static final int INITIAL_CAPACITY = 256;
+
+        private final Map<String, Integer> keyIds = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Map<String, LanguageEntries> entriesByLangCode = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder addLanguage(final String langCode) {
+            this.entriesByLangCode.computeIfAbsent(langCode, languageEntries -> new LanguageEntries(INITIAL_CAPACITY));
+            return this;
+        }
+
+        public Builder put(final String langCode, final String key, final String value) {
+            Integer keyId = this.keyIds.get(key);
+            if (keyId == null) {
+                keyId = this.keyIds.size();
+                this.keyIds.put(key, keyId);
+            }
+            LanguageEntries languageEntries = this.entriesByLangCode.get(langCode);
+            if (languageEntries == null) {
+                languageEntries = new LanguageEntries(Math.max(INITIAL_CAPACITY, keyId + 1));
+                this.entriesByLangCode.put(langCode, languageEntries);
+            }
+            languageEntries.put(keyId, key, value);
+            return this;
+        }
+
+        public Builder putAll(final String langCode, final Map<String, String> translations) {
+            this.addLanguage(langCode);
+            translations.forEach((key, value) -> this.put(langCode, key, value));
+            return this;
+        }
+
+        public Map<String, TranslationTable> build() {
+            final String[] keys = new String[this.keyIds.size()];
+            final int[] sortedKeyIds = new int[this.keyIds.size()];
+            int sortedKeyId = 0;
+            for (final Map.Entry<String, Integer> keyIdEntry : this.keyIds.entrySet()) {
+                keys[sortedKeyId] = keyIdEntry.getKey();
+                sortedKeyIds[keyIdEntry.getValue()] = sortedKeyId++;
+            }
+            final TranslationKeyDictionary keyDictionary = new TranslationKeyDictionary(keys);
+            final Map<String, TranslationTable> translationTables = new LinkedHashMap<>();
+            this.entriesByLangCode.forEach((langCode, languageEntries) -> {
+                final String[] sortedKeys = new String[keys.length];
+                final String[] sortedValues = new String[keys.length];
+                final BitSet keyIdSet = new BitSet(keys.length);
+                for (int keyId = 0; keyId < Math.min(languageEntries.values.length, keys.length); keyId++) {
+                    if (languageEntries.values[keyId] != null) {
+                        sortedKeys[sortedKeyIds[keyId]] = languageEntries.keys[keyId];
+                        sortedValues[sortedKeyIds[keyId]] = languageEntries.values[keyId];
+                        keyIdSet.set(sortedKeyIds[keyId]);
+                    }
+                }
+                translationTables.put(langCode, new TranslationTable(keyDictionary, sortedKeys, sortedValues, keyIdSet));
+            });
+            return translationTables;
+        }
+    }
+
+    private static class LanguageEntries {
+        private String[] keys;
+        private String[] values;
+
+        private LanguageEntries(final int capacity) {
+            this.keys = new String[capacity];
+            this.values = new String[capacity];
+        }
+
+        private void put(final int keyId, final String key, final String value) {
+            if (keyId >= this.values.length) {
+                final int capacity = Math.max(this.values.length * 2, keyId + 1);
+                this.keys = Arrays.copyOf(this.keys, capacity);
+                this.values = Arrays.copyOf(this.values, capacity);
+            }
+            if (this.keys[keyId] == null) {
+                this.keys[keyId] = key;
+            }
+            this.values[keyId] = value;
+        }
+    }
+}
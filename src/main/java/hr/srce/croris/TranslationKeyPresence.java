@@ -0,0 +1,122 @@
+package hr.srce.croris;
+
+import java.util.*;
+
+public class TranslationKeyPresence {
+    private final TranslationKeyDictionary keyDictionary;
+    private final Map<String, BitSet> keyIdsByLangCode = new TreeMap<>();
+    private final Map<String, BitSet> ownedKeyIdsByLangCode = new HashMap<>();
+    private final Map<String, BitSet> missingKeyIdsByLangCode = new HashMap<>();
+    private final Map<String, BitSet> coreKeyIdsByLangCode = new HashMap<>();
+
+    private TranslationKeyPresence(final TranslationKeyDictionary keyDictionary) {
+        this.keyDictionary = keyDictionary;
+    }
+
+    public static TranslationKeyPresence compute(
+            final Map<String, TranslationTable> translationTables,
+            final Map<String, TranslationTable> coreTranslationTables
+    ) {
+        final TranslationKeyDictionary keyDictionary = translationTables.isEmpty()
+                ? null
+                : translationTables.values().iterator().next().getKeyDictionary();
+        final TranslationKeyPresence keyPresence = new TranslationKeyPresence(keyDictionary);
+        final BitSet keyIdsInAllLanguages = new BitSet();
+        final BitSet ownedKeyIds = new BitSet();
+        boolean firstLanguage = true;
+        for (final Map.Entry<String, TranslationTable> translationTableEntry : translationTables.entrySet()) {
+            final BitSet keyIds = translationTableEntry.getValue().getKeyIds();
+            keyPresence.keyIdsByLangCode.put(translationTableEntry.getKey(), keyIds);
+            final BitSet languageOwnedKeyIds = (BitSet) keyIds.clone();
+            languageOwnedKeyIds.andNot(ownedKeyIds);
+            ownedKeyIds.or(keyIds);
+            keyPresence.ownedKeyIdsByLangCode.put(translationTableEntry.getKey(), languageOwnedKeyIds);
+            if (firstLanguage) {
+                keyIdsInAllLanguages.or(keyIds);
+                firstLanguage = false;
+            } else {
+                keyIdsInAllLanguages.and(keyIds);
+            }
+        }
+        for (final Map.Entry<String, BitSet> keyIdsEntry : keyPresence.keyIdsByLangCode.entrySet()) {
+            final BitSet missingKeyIds = (BitSet) keyIdsEntry.getValue().clone();
+            missingKeyIds.andNot(keyIdsInAllLanguages);
+            keyPresence.missingKeyIdsByLangCode.put(keyIdsEntry.getKey(), missingKeyIds);
+        }
+
+        final int[] keyIdsByCoreKeyId = mapCoreKeyIds(keyDictionary, coreTranslationTables);
+        for (final String langCode : translationTables.keySet()) {
+            final BitSet coreKeyIds = new BitSet();
+            final TranslationTable coreTranslationTable = coreTranslationTables.get(langCode);
+            if (coreTranslationTable != null) {
+                final BitSet coreTableKeyIds = coreTranslationTable.getKeyIds();
+                for (int coreKeyId = coreTableKeyIds.nextSetBit(0); coreKeyId >= 0; coreKeyId = coreTableKeyIds.nextSetBit(coreKeyId + 1)) {
+                    if (keyIdsByCoreKeyId[coreKeyId] >= 0) {
+                        coreKeyIds.set(keyIdsByCoreKeyId[coreKeyId]);
+                    }
+                }
+            }
+            keyPresence.coreKeyIdsByLangCode.put(langCode, coreKeyIds);
+        }
+        return keyPresence;
+    }
+
+    private static int[] mapCoreKeyIds(
+            final TranslationKeyDictionary keyDictionary,
+            final Map<String, TranslationTable> coreTranslationTables
+    ) {
+        if (keyDictionary == null || coreTranslationTables.isEmpty()) {
+            return new int[0];
+        }
+        final TranslationKeyDictionary coreKeyDictionary = coreTranslationTables.values().iterator().next().getKeyDictionary();
+        final int[] keyIdsByCoreKeyId = new int[coreKeyDictionary.size()];
+        Arrays.fill(keyIdsByCoreKeyId, -1);
+        int keyId = 0;
+        int coreKeyId = 0;
+        while (keyId < keyDictionary.size() && coreKeyId < coreKeyDictionary.size()) {
+            final int comparison = String.CASE_INSENSITIVE_ORDER.compare(keyDictionary.getKey(keyId), coreKeyDictionary.getKey(coreKeyId));
+            if (comparison < 0) {
+                keyId++;
+            } else if (comparison > 0) {
+                coreKeyId++;
+            } else {
+                keyIdsByCoreKeyId[coreKeyId++] = keyId++;
+            }
+        }
+        return keyIdsByCoreKeyId;
+    }
+
+    private static boolean get(final Map<String, BitSet> keyIdsByLangCode, final String langCode, final int keyId) {
+        final BitSet keyIds = keyIdsByLangCode.get(langCode);
+        return keyIds != null && keyIds.get(keyId);
+    }
+
+    public int getKeyId(final String key) {
+        return this.keyDictionary == null ? -1 : this.keyDictionary.getKeyId(key);
+    }
+
+    public boolean isOwnedBy(final String langCode, final int keyId) {
+        return get(this.ownedKeyIdsByLangCode, langCode, keyId);
+    }
+
+    public boolean isInCore(final String langCode, final int keyId) {
+        return get(this.coreKeyIdsByLangCode, langCode, keyId);
+    }
+
+    public boolean isMissing(final String langCode, final int keyId) {
+        return get(this.missingKeyIdsByLangCode, langCode, keyId);
+    }
+
+    public List<String> getLangCodesMissingKey(final int keyId) {
+        final List<String> langCodes = new ArrayList<>();
+        if (keyId < 0) {
+            return langCodes;
+        }
+        this.keyIdsByLangCode.forEach((langCode, keyIds) -> {
+            if (!keyIds.get(keyId)) {
+                langCodes.add(langCode);
+            }
+        });
+        return langCodes;
+    }
+}
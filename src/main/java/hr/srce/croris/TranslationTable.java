@@ -0,0 +1,109 @@
+package hr.srce.croris;
+
+import java.util.*;
+
+public class TranslationTable extends AbstractMap<String, String> {
+    private final TranslationKeyDictionary keyDictionary;
+    private final String[] keys;
+    private final String[] values;
+    private final BitSet keyIds;
+    private int size;
+
+    TranslationTable(
+            final TranslationKeyDictionary keyDictionary,
+            final String[] keys,
+            final String[] values,
+            final BitSet keyIds
+    ) {
+        this.keyDictionary = keyDictionary;
+        this.keys = keys;
+        this.values = values;
+        this.keyIds = keyIds;
+        this.size = keyIds.cardinality();
+    }
+
+    public TranslationKeyDictionary getKeyDictionary() {
+        return keyDictionary;
+    }
+
+    public BitSet getKeyIds() {
+        return (BitSet) this.keyIds.clone();
+    }
+
+    public boolean containsKeyId(final int keyId) {
+        return this.keyIds.get(keyId);
+    }
+
+    public String getKey(final int keyId) {
+        return this.keys[keyId];
+    }
+
+    public String getValue(final int keyId) {
+        return this.values[keyId];
+    }
+
+    private int getKeyId(final Object key) {
+        return key instanceof String ? this.keyDictionary.getKeyId((String) key) : -1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        final int keyId = this.getKeyId(key);
+        return keyId >= 0 && this.keyIds.get(keyId);
+    }
+
+    @Override
+    public String get(final Object key) {
+        final int keyId = this.getKeyId(key);
+        return keyId >= 0 ? this.values[keyId] : null;
+    }
+
+    public boolean removeKey(final String key) {
+        final int keyId = this.getKeyId(key);
+        if (keyId < 0 || this.values[keyId] == null) {
+            return false;
+        }
+        this.keys[keyId] = null;
+        this.values[keyId] = null;
+        this.keyIds.clear(keyId);
+        this.size--;
+        return true;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<>() {
+                    private int nextKeyId = keyIds.nextSetBit(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.nextKeyId >= 0;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (this.nextKeyId < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        final int keyId = this.nextKeyId;
+                        this.nextKeyId = keyIds.nextSetBit(keyId + 1);
+                        return new SimpleImmutableEntry<>(keys[keyId], values[keyId]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return TranslationTable.this.size;
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package hr.srce.croris;
+
+import java.util.*;
+
+public class TranslationValueIndex {
+    private final Map<String, Set<String>> keysByValue = new HashMap<>();
+
+    public TranslationValueIndex(final Map<String, String> translations) {
+        for (final Map.Entry<String, String> translationsEntry : translations.entrySet()) {
+            this.keysByValue
+                    .computeIfAbsent(translationsEntry.getValue().trim(), value -> new TreeSet<>())
+                    .add(translationsEntry.getKey());
+        }
+    }
+
+    public Set<String> getKeysWithValue(final String value) {
+        return Collections.unmodifiableSet(this.keysByValue.getOrDefault(value.trim(), Collections.emptySet()));
+    }
+
+    public boolean isDuplicated(final String value) {
+        return this.getKeysWithValue(value).size() > 1;
+    }
+
+    public Map<String, Set<String>> getDuplicatedValues() {
+        final Map<String, Set<String>> duplicatedValues = new TreeMap<>();
+        this.keysByValue.forEach((value, keys) -> {
+            if (keys.size() > 1) {
+                duplicatedValues.put(value, Collections.unmodifiableSet(keys));
+            }
+        });
+        return duplicatedValues;
+    }
+}
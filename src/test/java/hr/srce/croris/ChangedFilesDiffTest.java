@@ -0,0 +1,127 @@
+package hr.srce.croris;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class ChangedFilesDiffTest {
+    private static final Set<String> USAGE_DIFF_TYPES = Set.of("KEY_NOT_IN_USE", "KEY_MISSING", "VALUE_EMPTY");
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File englishFile;
+    private File croatianFile;
+    private File sourceFile;
+
+    @Before
+    public void setUp() throws IOException {
+        this.englishFile = this.writeFile("src/main/resources/i18n/messages_en.properties", "a.one=ONE\na.two=TWO\na.three=THREE\n");
+        this.croatianFile = this.writeFile("src/main/resources/i18n/messages_hr.properties", "a.one=JEDAN\na.two=DVA\na.three=TRI\n");
+        this.sourceFile = this.writeFile("src/main/java/App.java", "t(\"a.one\"); t(\"a.two\"); t(\"a.three\");");
+    }
+
+    private File writeFile(final String path, final String content) throws IOException {
+        final File file = new File(this.temporaryFolder.getRoot(), path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private void git(final String... args) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>(List.of("git", "-c", "user.name=test", "-c", "user.email=test@example.com"));
+        command.addAll(List.of(args));
+        final Process process = new ProcessBuilder(command)
+                .directory(this.temporaryFolder.getRoot())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        assertEquals(0, process.waitFor());
+    }
+
+    private Set<String> findUsageDiffs(final File... changedFiles) throws IOException {
+        final TranslationFormatterOptions options = new TranslationFormatterOptions();
+        options.setRemoveIfKeyExistsInCore(false);
+        options.setLanguageCheckMode(LanguageCheckMode.FAST);
+        options.setChangedFiles(List.of(changedFiles));
+        final FindingCollector findingCollector = new FindingCollector();
+        new TranslationFolderWrapper(this.englishFile.getParent(), null, null, options, findingCollector);
+        return findingCollector.findings;
+    }
+
+    @Test
+    public void checksKeysChangedSinceHead() throws IOException, InterruptedException {
+        this.git("init", "-q");
+        this.git("add", ".");
+        this.git("commit", "-q", "-m", "fixture");
+        this.writeFile("src/main/resources/i18n/messages_en.properties", "a.one=ONE\na.two=\na.three=THREE\na.new=NEW\n");
+
+        assertEquals(
+                Set.of("en KEY_NOT_IN_USE a.new", "en KEY_MISSING a.new", "en VALUE_EMPTY a.two"),
+                this.findUsageDiffs(this.englishFile)
+        );
+    }
+
+    @Test
+    public void checksKeysWithRemovedReferences() throws IOException, InterruptedException {
+        this.git("init", "-q");
+        this.git("add", ".");
+        this.git("commit", "-q", "-m", "fixture");
+        this.writeFile("src/main/java/App.java", "t(\"a.one\"); t(\"a.two\");");
+
+        assertEquals(Set.of("en KEY_NOT_IN_USE a.three"), this.findUsageDiffs(this.sourceFile));
+    }
+
+    @Test
+    public void treatsAllKeysOfUntrackedFileAsChanged() throws IOException {
+        this.writeFile("src/main/resources/i18n/messages_hr.properties", "a.one=JEDAN\na.two=DVA\na.three=TRI\nb.unused=NE\n");
+
+        assertEquals(
+                Set.of("hr KEY_NOT_IN_USE b.unused", "hr KEY_MISSING b.unused"),
+                this.findUsageDiffs(this.croatianFile)
+        );
+    }
+
+    private static class FindingCollector implements DiffReportWriter {
+        private final Set<String> findings = new TreeSet<>();
+
+        @Override
+        public void startFolder(final File folder) {
+        }
+
+        @Override
+        public void startLanguage(final String langCode) {
+        }
+
+        @Override
+        public void writeFinding(final DiffFinding finding) {
+            if (USAGE_DIFF_TYPES.contains(finding.getType())) {
+                finding.getKeys().forEach(key -> this.findings.add(finding.getLangCode() + " " + finding.getType() + " " + key));
+            }
+        }
+
+        @Override
+        public void endFolder() {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package hr.srce.croris;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalSourceUsageIndexTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File srcFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        this.srcFolder = this.temporaryFolder.newFolder("src");
+    }
+
+    private File writeSource(final String name, final String content) throws IOException {
+        final File file = new File(this.srcFolder, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private IncrementalSourceUsageIndex build(final List<String> keys) throws IOException {
+        return IncrementalSourceUsageIndex.build(this.srcFolder, keys, new TranslationFormatterOptions());
+    }
+
+    @Test
+    public void findsKeysAtBuild() throws IOException {
+        this.writeSource("A.java", "t(\"a.one\"); t(\"error.message\");");
+        this.writeSource("b.js", "t('a.one');");
+        final IncrementalSourceUsageIndex index = this.build(List.of("a.one", "a.two", "message", "excel.title"));
+        assertTrue(index.isKeyInUse("a.one"));
+        assertFalse(index.isKeyInUse("a.two"));
+        assertTrue(index.isKeyInUse("message"));
+        assertTrue(index.isKeyInUse("excel.title"));
+    }
+
+    @Test
+    public void addsKeysWithoutReadingSourceFiles() throws IOException {
+        final File sourceFile = this.writeSource("A.java", "t(\"a.one\"); t(\"b.čšž\"); t(\"error.message\");");
+        final IncrementalSourceUsageIndex index = this.build(List.of("a.one"));
+        Files.delete(sourceFile.toPath());
+
+        assertEquals(Set.of("b.čšž", "message", "a.two"), index.addKeys(List.of("a.one", "b.čšž", "message", "a.two")));
+        assertTrue(index.isKeyInUse("b.čšž"));
+        assertTrue(index.isKeyInUse("message"));
+        assertFalse(index.isKeyInUse("a.two"));
+        assertEquals(Set.of(), index.addKeys(List.of("a.one", "message")));
+    }
+
+    @Test
+    public void scansFilesForKeysWithSeparatorsAndSkipsMissingFiles() throws IOException {
+        this.writeSource("A.java", "t(\"a key:with separators\");");
+        final File deletedFile = this.writeSource("B.java", "t(\"a key:with separators\");");
+        final IncrementalSourceUsageIndex index = this.build(List.of());
+        Files.delete(deletedFile.toPath());
+
+        index.addKeys(List.of("a key:with separators"));
+        assertTrue(index.isKeyInUse("a key:with separators"));
+        Files.delete(new File(this.srcFolder, "A.java").toPath());
+        assertEquals(Set.of("a key:with separators"), index.updateSourceFile(new File(this.srcFolder, "A.java")));
+        assertFalse(index.isKeyInUse("a key:with separators"));
+    }
+
+    @Test
+    public void countsUsagesAcrossFiles() throws IOException {
+        final File firstFile = this.writeSource("A.java", "t(\"a.one\");");
+        final File secondFile = this.writeSource("B.java", "t(\"a.one\"); t(\"a.two\");");
+        final IncrementalSourceUsageIndex index = this.build(List.of("a.one", "a.two", "a.three"));
+
+        this.writeSource("B.java", "t(\"a.three\");");
+        assertEquals(Set.of("a.two", "a.three"), index.updateSourceFile(secondFile));
+        assertTrue(index.isKeyInUse("a.one"));
+        assertFalse(index.isKeyInUse("a.two"));
+        assertTrue(index.isKeyInUse("a.three"));
+
+        Files.delete(firstFile.toPath());
+        assertEquals(Set.of("a.one"), index.updateSourceFile(firstFile));
+        assertFalse(index.isKeyInUse("a.one"));
+
+        this.writeSource("C.java", "t(\"a.one\"); t(\"a.four\");");
+        assertEquals(Set.of("a.one"), index.updateSourceFile(new File(this.srcFolder, "C.java")));
+        assertEquals(Set.of("a.four"), index.addKeys(List.of("a.four")));
+        assertTrue(index.isKeyInUse("a.four"));
+
+        this.writeSource("B.java", "");
+        assertEquals(Set.of("a.three"), index.updateSourceFile(secondFile));
+        assertEquals(Set.of("a.five"), index.addKeys(List.of("a.five")));
+        assertFalse(index.isKeyInUse("a.five"));
+    }
+}
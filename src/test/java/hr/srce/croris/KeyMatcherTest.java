@@ -0,0 +1,82 @@
+package hr.srce.croris;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class KeyMatcherTest {
+    private static List<String> getFoundKeys(final List<String> keys, final BitSet foundKeys) {
+        final List<String> found = new ArrayList<>();
+        for (int i = foundKeys.nextSetBit(0); i >= 0; i = foundKeys.nextSetBit(i + 1)) {
+            found.add(keys.get(i));
+        }
+        return found;
+    }
+
+    private static List<String> findKeys(final List<String> keys, final String content) {
+        final BitSet foundKeys = new BitSet(keys.size());
+        new KeyMatcher(keys).scan(content.getBytes(StandardCharsets.UTF_8), foundKeys);
+        return getFoundKeys(keys, foundKeys);
+    }
+
+    @Test
+    public void findsOverlappingKeys() {
+        assertEquals(
+                List.of("a.b", "b.c", "a.b.c"),
+                findKeys(List.of("a.b", "b.c", "a.b.c", "c.d"), "x(\"a.b.c\")")
+        );
+    }
+
+    @Test
+    public void findsKeysThatAreSuffixesOfOtherKeys() {
+        final List<String> keys = List.of("error.message", "message", "age", "error");
+        assertEquals(keys, findKeys(keys, "get(\"error.message\")"));
+        assertEquals(List.of("message", "age"), findKeys(keys, "rror.message"));
+    }
+
+    @Test
+    public void followsFailureLinksAfterPartialMatch() {
+        assertEquals(List.of("bc"), findKeys(List.of("abcd", "bc"), "abcx"));
+        assertEquals(List.of("aab"), findKeys(List.of("aab"), "aaab"));
+        assertEquals(List.of(), findKeys(List.of("abcd", "bcf"), "abcx"));
+    }
+
+    @Test
+    public void matchesUtf8Keys() {
+        assertEquals(List.of("poruka.čšž"), findKeys(List.of("poruka.čšž", "poruka.csz"), "t(\"poruka.čšž\")"));
+    }
+
+    @Test
+    public void alwaysFindsEmptyKey() {
+        assertEquals(List.of(""), findKeys(List.of("", "missing"), ""));
+    }
+
+    @Test
+    public void scansDirectAndSlicedBuffers() {
+        final List<String> keys = List.of("a.one", "a.two", "b.one");
+        final KeyMatcher keyMatcher = new KeyMatcher(keys);
+        final byte[] content = "a.one a.two b.one".getBytes(StandardCharsets.UTF_8);
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+        direct.put(content).flip();
+        final BitSet directKeys = new BitSet();
+        keyMatcher.scan(direct, directKeys);
+        assertEquals(keys, getFoundKeys(keys, directKeys));
+
+        final BitSet slicedKeys = new BitSet();
+        keyMatcher.scan(ByteBuffer.wrap(content, 6, 11).slice(), slicedKeys);
+        assertEquals(List.of("a.two", "b.one"), getFoundKeys(keys, slicedKeys));
+
+        final ByteBuffer positioned = ByteBuffer.wrap(content);
+        positioned.position(1);
+        final BitSet positionedKeys = new BitSet();
+        keyMatcher.scan(positioned, positionedKeys);
+        assertEquals(List.of("a.two", "b.one"), getFoundKeys(keys, positionedKeys));
+    }
+}
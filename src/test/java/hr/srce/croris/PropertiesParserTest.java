@@ -0,0 +1,104 @@
+package hr.srce.croris;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+
+public class PropertiesParserTest {
+    private static Map<String, String> parse(final String content) throws IOException {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        PropertiesParser.parse(new StringReader(content), entries::put);
+        return entries;
+    }
+
+    private static Map<String, String> load(final String content) throws IOException {
+        final Properties properties = new Properties();
+        properties.load(new StringReader(content));
+        final Map<String, String> entries = new LinkedHashMap<>();
+        properties.stringPropertyNames().forEach(key -> entries.put(key, properties.getProperty(key)));
+        return entries;
+    }
+
+    @Test
+    public void parsesSeparators() throws IOException {
+        final Map<String, String> entries = parse("a=1\nb:2\nc 3\nd = 4\ne\t:  5\nf\ng=\n");
+        assertEquals("1", entries.get("a"));
+        assertEquals("2", entries.get("b"));
+        assertEquals("3", entries.get("c"));
+        assertEquals("4", entries.get("d"));
+        assertEquals("5", entries.get("e"));
+        assertEquals("", entries.get("f"));
+        assertEquals("", entries.get("g"));
+        assertEquals(7, entries.size());
+    }
+
+    @Test
+    public void skipsCommentsAndBlankLines() throws IOException {
+        final Map<String, String> entries = parse("# comment=1\n! other:2\n   # indented\n\n  \t\na=b # not a comment\n");
+        assertEquals(1, entries.size());
+        assertEquals("b # not a comment", entries.get("a"));
+    }
+
+    @Test
+    public void unescapesKeysAndValues() throws IOException {
+        final Map<String, String> entries = parse("a\\ b\\=c\\:d=\\ x\\ty\\nz\\\\\nu=\\u010d\\u0161\\u017E\nother=\\q\n");
+        assertEquals(" x\ty\nz\\", entries.get("a b=c:d"));
+        assertEquals("čšž", entries.get("u"));
+        assertEquals("q", entries.get("other"));
+    }
+
+    @Test
+    public void joinsContinuationLines() throws IOException {
+        final Map<String, String> entries = parse("a=one \\\n    two \\\n\tthree\nb=x\\\r\n  y\r\nc=z\\\\\nd=w");
+        assertEquals("one two three", entries.get("a"));
+        assertEquals("xy", entries.get("b"));
+        assertEquals("z\\", entries.get("c"));
+        assertEquals("w", entries.get("d"));
+    }
+
+    @Test
+    public void keepsCommentMarkersInsideContinuation() throws IOException {
+        final Map<String, String> entries = parse("a=one\\\n  # two\n");
+        assertEquals("one# two", entries.get("a"));
+    }
+
+    @Test
+    public void matchesJavaUtilProperties() throws IOException {
+        final String content = "# header\n"
+                + "a.one = First \\\n   entry\n"
+                + "a.two:Second\\tentry\n"
+                + "b.key\\ with\\ spaces=\\u0160ibenik \\u0107evap\n"
+                + "!comment\n"
+                + "c.empty\n"
+                + "c.trailing=value \\\\\n"
+                + "d.crlf=x\r\n"
+                + "d.cr=y\r"
+                + "e.last=end";
+        assertEquals(load(content), parse(content));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsMalformedUnicodeEscape() throws IOException {
+        parse("a=\\u00zz\n");
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedUnicodeEscape() throws IOException {
+        parse("a=\\u00");
+    }
+
+    @Test
+    public void escapesOnlyWhatNeedsEscaping() {
+        assertEquals("a.plain", PropertiesParser.escapeKey("a.plain"));
+        assertEquals("\\#a\\ b\\=c\\:d!", PropertiesParser.escapeKey("#a b=c:d!"));
+        assertEquals("\\ a b=c:d #!", PropertiesParser.escapeValue(" a b=c:d #!"));
+        assertEquals("\\t\\n\\r\\f\\\\", PropertiesParser.escapeValue("\t\n\r\f\\"));
+        assertEquals("čšž", PropertiesParser.escapeValue("čšž"));
+    }
+}
@@ -0,0 +1,95 @@
+package hr.srce.croris;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SourceFileFilterTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File srcFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        this.srcFolder = this.temporaryFolder.newFolder("src");
+    }
+
+    private File writeSource(final String path, final String content) throws IOException {
+        final File file = new File(this.srcFolder, path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private SourceFileFilter createFilter(final long maxFileSize, final List<String> excludeGlobs, final RunProfile runProfile) {
+        return new SourceFileFilter(this.srcFolder, maxFileSize, excludeGlobs, runProfile);
+    }
+
+    @Test
+    public void matchesGlobsWithoutSeparatorAgainstEveryName() throws IOException {
+        final SourceFileFilter sourceFileFilter = this.createFilter(
+                SourceFileFilter.NO_SIZE_LIMIT,
+                List.of("node_modules", "*.min.js"),
+                new RunProfile()
+        );
+        assertFalse(sourceFileFilter.acceptFolder(new File(this.srcFolder, "node_modules")));
+        assertFalse(sourceFileFilter.acceptFolder(new File(this.srcFolder, "main/webapp/node_modules")));
+        assertTrue(sourceFileFilter.acceptFolder(new File(this.srcFolder, "main/webapp/node_modules_backup")));
+        assertFalse(sourceFileFilter.acceptFile(this.writeSource("main/webapp/node_modules/lib/index.js", "")));
+        assertFalse(sourceFileFilter.acceptFile(this.writeSource("main/webapp/app.min.js", "")));
+        assertTrue(sourceFileFilter.acceptFile(this.writeSource("main/webapp/app.js", "")));
+    }
+
+    @Test
+    public void matchesGlobsWithSeparatorAgainstRelativePath() throws IOException {
+        final SourceFileFilter sourceFileFilter = this.createFilter(
+                SourceFileFilter.NO_SIZE_LIMIT,
+                List.of("main/generated/**"),
+                new RunProfile()
+        );
+        assertFalse(sourceFileFilter.acceptFile(this.writeSource("main/generated/a/Generated.java", "")));
+        assertTrue(sourceFileFilter.acceptFile(this.writeSource("test/main/generated/a/Generated.java", "")));
+        assertTrue(sourceFileFilter.acceptFile(this.writeSource("main/java/Generated.java", "")));
+    }
+
+    @Test
+    public void matchesOnlyFileNameOutsideSourceFolder() throws IOException {
+        final SourceFileFilter sourceFileFilter = this.createFilter(
+                SourceFileFilter.NO_SIZE_LIMIT,
+                List.of("*.min.js", "main/**"),
+                new RunProfile()
+        );
+        final File outsideFolder = this.temporaryFolder.newFolder("main");
+        assertFalse(sourceFileFilter.acceptFolder(new File(outsideFolder, "app.min.js")));
+        assertTrue(sourceFileFilter.acceptFolder(new File(outsideFolder, "app")));
+    }
+
+    @Test
+    public void skipsLargeFilesAndCountsThem() throws IOException {
+        final RunProfile runProfile = new RunProfile();
+        final SourceFileFilter sourceFileFilter = this.createFilter(4, List.of(), runProfile);
+        assertTrue(sourceFileFilter.acceptFile(this.writeSource("Small.java", "1234")));
+        assertFalse(sourceFileFilter.acceptFile(this.writeSource("Large.java", "12345")));
+        assertFalse(sourceFileFilter.acceptFile(this.writeSource("notes.txt", "")));
+        assertEquals(1, runProfile.getCount(RunProfile.Counter.SOURCE_FILES_SKIPPED));
+    }
+
+    @Test
+    public void excludesNothingWithoutGlobs() throws IOException {
+        final SourceFileFilter sourceFileFilter = this.createFilter(SourceFileFilter.NO_SIZE_LIMIT, List.of(), new RunProfile());
+        assertTrue(sourceFileFilter.acceptFolder(new File(this.srcFolder, "node_modules")));
+        assertTrue(sourceFileFilter.acceptFile(this.writeSource("node_modules/lib/index.js", "")));
+    }
+}
@@ -0,0 +1,109 @@
+package hr.srce.croris;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class SourceUsageCacheTest {
+    private static final List<String> KEYS = List.of("a.one", "a.two", "b.one");
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File srcFolder;
+    private File translationFolder;
+    private File cacheFile;
+
+    @Before
+    public void setUp() throws IOException {
+        this.srcFolder = this.temporaryFolder.newFolder("src");
+        this.translationFolder = this.temporaryFolder.newFolder("src", "main", "resources", "i18n");
+        this.cacheFile = new File(this.temporaryFolder.getRoot(), "cache/usage.bin");
+        Files.write(new File(this.srcFolder, "A.java").toPath(), "t(\"a.one\");".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(this.srcFolder, "b.js").toPath(), "t('b.one');".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private BitSet findKeysInUse(final File translationFolder, final List<String> keys, final RunProfile runProfile) throws IOException {
+        final SourceUsageCache cache = SourceUsageCache.load(this.cacheFile);
+        final BitSet foundKeys = cache.findKeysInUse(
+                this.srcFolder,
+                translationFolder,
+                keys,
+                1,
+                runProfile,
+                new SourceFileFilter(this.srcFolder, SourceFileFilter.NO_SIZE_LIMIT, SourceFileFilter.DEFAULT_EXCLUDE_GLOBS, runProfile)
+        );
+        cache.save();
+        return foundKeys;
+    }
+
+    private static BitSet bits(final int... indexes) {
+        final BitSet bitSet = new BitSet();
+        for (final int index : indexes) {
+            bitSet.set(index);
+        }
+        return bitSet;
+    }
+
+    @Test
+    public void reusesSavedSection() throws IOException {
+        final RunProfile firstRun = new RunProfile();
+        assertEquals(bits(0, 2), this.findKeysInUse(this.translationFolder, KEYS, firstRun));
+        assertEquals(2, firstRun.getCount(RunProfile.Counter.SOURCE_FILES_SCANNED));
+
+        final RunProfile secondRun = new RunProfile();
+        assertEquals(bits(0, 2), this.findKeysInUse(this.translationFolder, KEYS, secondRun));
+        assertEquals(0, secondRun.getCount(RunProfile.Counter.SOURCE_FILES_SCANNED));
+        assertEquals(2, secondRun.getCount(RunProfile.Counter.USAGE_CACHE_HITS));
+    }
+
+    @Test
+    public void remapsReorderedKeys() throws IOException {
+        this.findKeysInUse(this.translationFolder, KEYS, new RunProfile());
+
+        final RunProfile runProfile = new RunProfile();
+        assertEquals(bits(0, 1), this.findKeysInUse(this.translationFolder, List.of("b.one", "a.one"), runProfile));
+        assertEquals(0, runProfile.getCount(RunProfile.Counter.SOURCE_FILES_SCANNED));
+    }
+
+    @Test
+    public void rescansForNewKeysWithoutCountingHits() throws IOException {
+        this.findKeysInUse(this.translationFolder, List.of("a.one"), new RunProfile());
+
+        final RunProfile runProfile = new RunProfile();
+        assertEquals(bits(0, 2), this.findKeysInUse(this.translationFolder, KEYS, runProfile));
+        assertEquals(2, runProfile.getCount(RunProfile.Counter.SOURCE_FILES_SCANNED));
+        assertEquals(0, runProfile.getCount(RunProfile.Counter.USAGE_CACHE_HITS));
+    }
+
+    @Test
+    public void keepsSectionsPerTranslationFolder() throws IOException {
+        final File otherTranslationFolder = this.temporaryFolder.newFolder("src", "main", "resources", "i18n-other");
+        this.findKeysInUse(this.translationFolder, KEYS, new RunProfile());
+        this.findKeysInUse(otherTranslationFolder, List.of("a.two"), new RunProfile());
+
+        final RunProfile runProfile = new RunProfile();
+        assertEquals(bits(0, 2), this.findKeysInUse(this.translationFolder, KEYS, runProfile));
+        assertEquals(0, runProfile.getCount(RunProfile.Counter.SOURCE_FILES_SCANNED));
+    }
+
+    @Test
+    public void ignoresUnreadableCacheFile() throws IOException {
+        Files.createDirectories(this.cacheFile.getParentFile().toPath());
+        Files.write(this.cacheFile.toPath(), new byte[]{1, 2, 3});
+
+        final RunProfile runProfile = new RunProfile();
+        assertEquals(bits(0, 2), this.findKeysInUse(this.translationFolder, KEYS, runProfile));
+        assertEquals(2, runProfile.getCount(RunProfile.Counter.SOURCE_FILES_SCANNED));
+    }
+}
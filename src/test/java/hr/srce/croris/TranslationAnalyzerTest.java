@@ -0,0 +1,59 @@
+package hr.srce.croris;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+
+public class TranslationAnalyzerTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File writeFile(final File folder, final String name, final String content) throws IOException {
+        final File file = new File(folder, name);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static TranslationAnalyzer buildAnalyzer() throws IOException {
+        return TranslationAnalyzer.builder()
+                .removeIfKeyNotInUse(true)
+                .languageCheckMode(LanguageCheckMode.FAST)
+                .build();
+    }
+
+    @Test
+    public void analyzesWithoutCoreFolder() throws IOException {
+        final File folder = new File(this.temporaryFolder.getRoot(), "module/src/main/resources/i18n");
+        final File translationFile = this.writeFile(folder, "messages_en.properties", "a.one=ONE\na.two=TWO\n");
+        this.writeFile(this.temporaryFolder.getRoot(), "module/src/main/java/App.java", "t(\"a.one\");");
+
+        final TranslationAnalysisResult result = buildAnalyzer().analyze(folder);
+        assertEquals("a.one=ONE\n", result.getProposedContents().get(translationFile));
+    }
+
+    @Test
+    public void usesGivenSourceFolder() throws IOException {
+        final File folder = this.temporaryFolder.newFolder("translations");
+        final File translationFile = this.writeFile(folder, "messages_en.properties", "a.one=ONE\na.two=TWO\n");
+        final File srcFolder = this.temporaryFolder.newFolder("sources");
+        this.writeFile(srcFolder, "App.java", "t(\"a.two\");");
+
+        final TranslationAnalysisResult result = buildAnalyzer().analyze(folder, srcFolder);
+        assertEquals("a.two=TWO\n", result.getProposedContents().get(translationFile));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsFolderWithoutSourceFolder() throws IOException {
+        final File folder = this.temporaryFolder.newFolder("translations");
+        this.writeFile(folder, "messages_en.properties", "a.one=ONE\n");
+        buildAnalyzer().analyze(folder);
+    }
+}
@@ -0,0 +1,109 @@
+package hr.srce.croris;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TranslationFolderWrapperTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File writeFile(final String path, final String content) throws IOException {
+        final File file = new File(this.temporaryFolder.getRoot(), path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static TranslationFormatterOptions createOptions() {
+        final TranslationFormatterOptions options = new TranslationFormatterOptions();
+        options.setRemoveIfKeyExistsInCore(false);
+        options.setLanguageCheckMode(LanguageCheckMode.FAST);
+        return options;
+    }
+
+    private static Map<String, String> roundTrip(final Map<String, String> translations) throws IOException {
+        final String writeableString = TranslationFolderWrapper.getWriteableStringFromTranslationMap(translations).toString();
+        final Map<String, String> parsed = new LinkedHashMap<>();
+        PropertiesParser.parse(new StringReader(writeableString), parsed::put);
+        return parsed;
+    }
+
+    private static String repeat(final String word, final int count) {
+        final StringBuilder value = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                value.append(' ');
+            }
+            value.append(word).append(i);
+        }
+        return value.toString();
+    }
+
+    @Test
+    public void roundTripsSpecialCharacters() throws IOException {
+        final Map<String, String> translations = new LinkedHashMap<>();
+        translations.put("a.plain", "Plain value");
+        translations.put("a.leading", "  leading spaces");
+        translations.put("a.controls", "tab\tnew\nline\rcarriage\fform");
+        translations.put("a.backslash", "C:\\temp\\");
+        translations.put("b.separators", "x=y:z # not ! a comment");
+        translations.put("b.key with=separators:", "value");
+        translations.put("#c.comment", "looks like a comment");
+        translations.put("d.unicode", "Ključ prijevoda čšžđć");
+        translations.put("d.empty", "");
+        assertEquals(translations, roundTrip(translations));
+    }
+
+    @Test
+    public void roundTripsWrappedValues() throws IOException {
+        final Map<String, String> translations = new LinkedHashMap<>();
+        translations.put("a.short", repeat("word", 5));
+        translations.put("a.long", repeat("word", 60));
+        translations.put("a.veryLong", repeat("Ključ", 300));
+        translations.put("b.noSpaces", repeat("x", 100).replace(" ", ""));
+        translations.put("b.escaped", repeat("a\\b\tc", 40));
+        final String writeableString = TranslationFolderWrapper.getWriteableStringFromTranslationMap(translations).toString();
+        assertTrue(writeableString.contains("\\\n"));
+        assertEquals(translations, roundTrip(translations));
+    }
+
+    @Test
+    public void separatesFirstLevelKeyGroups() {
+        final Map<String, String> translations = new LinkedHashMap<>();
+        translations.put("a.one", "1");
+        translations.put("a.two", "2");
+        translations.put("b.one", "3");
+        assertEquals(
+                "a.one=1\na.two=2\n\nb.one=3\n",
+                TranslationFolderWrapper.getWriteableStringFromTranslationMap(translations).toString()
+        );
+    }
+
+    @Test
+    public void keepsKeySpellingOfEachLanguage() throws IOException {
+        final String englishContent = "App.Title=HELLO WORLD\nApp.welcome=WELCOME\n";
+        final String croatianContent = "app.title=POZDRAV SVIJETE\napp.Welcome=DOBRODOSLI\n";
+        final File englishFile = this.writeFile("src/main/resources/i18n/messages_en.properties", englishContent);
+        final File croatianFile = this.writeFile("src/main/resources/i18n/messages_hr.properties", croatianContent);
+        this.writeFile("src/main/java/App.java", "t(\"App.Title\"); t(\"App.welcome\");");
+
+        final TranslationFormatterOptions options = createOptions();
+        options.setRemoveIfKeyNotInUse(true);
+        final TranslationFolderWrapper translationFolderWrapper = new TranslationFolderWrapper(englishFile.getParent(), options);
+        final Map<File, String> proposedContents = translationFolderWrapper.getProposedContents();
+        assertEquals(englishContent, proposedContents.get(englishFile));
+        assertEquals(croatianContent, proposedContents.get(croatianFile));
+    }
+}
@@ -0,0 +1,86 @@
+package hr.srce.croris;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TranslationKeyPresenceTest {
+    private static Map<String, TranslationTable> buildTables(final Map<String, Map<String, String>> translationsByLangCode) {
+        final TranslationKeyDictionary.Builder keyDictionaryBuilder = TranslationKeyDictionary.builder();
+        translationsByLangCode.forEach(keyDictionaryBuilder::putAll);
+        return new TreeMap<>(keyDictionaryBuilder.build());
+    }
+
+    private static TranslationKeyPresence computeModulePresence(final Map<String, TranslationTable> coreTranslationTables) {
+        return TranslationKeyPresence.compute(
+                buildTables(Map.of(
+                        "en", Map.of("a.one", "ONE", "a.two", "TWO"),
+                        "hr", Map.of("a.one", "JEDAN", "b.only", "SAMO")
+                )),
+                coreTranslationTables
+        );
+    }
+
+    @Test
+    public void assignsOwnershipToFirstLanguageWithKey() {
+        final TranslationKeyPresence keyPresence = computeModulePresence(Collections.emptyMap());
+        final int sharedKeyId = keyPresence.getKeyId("a.one");
+        final int croatianKeyId = keyPresence.getKeyId("b.only");
+        assertTrue(keyPresence.isOwnedBy("en", sharedKeyId));
+        assertFalse(keyPresence.isOwnedBy("hr", sharedKeyId));
+        assertTrue(keyPresence.isOwnedBy("hr", croatianKeyId));
+        assertFalse(keyPresence.isOwnedBy("en", croatianKeyId));
+        assertFalse(keyPresence.isOwnedBy("de", sharedKeyId));
+    }
+
+    @Test
+    public void findsKeysMissingInOtherLanguages() {
+        final TranslationKeyPresence keyPresence = computeModulePresence(Collections.emptyMap());
+        final int sharedKeyId = keyPresence.getKeyId("a.one");
+        final int englishKeyId = keyPresence.getKeyId("a.two");
+        final int croatianKeyId = keyPresence.getKeyId("b.only");
+        assertFalse(keyPresence.isMissing("en", sharedKeyId));
+        assertTrue(keyPresence.isMissing("en", englishKeyId));
+        assertFalse(keyPresence.isMissing("hr", englishKeyId));
+        assertTrue(keyPresence.isMissing("hr", croatianKeyId));
+        assertEquals(List.of(), keyPresence.getLangCodesMissingKey(sharedKeyId));
+        assertEquals(List.of("hr"), keyPresence.getLangCodesMissingKey(englishKeyId));
+        assertEquals(List.of("en"), keyPresence.getLangCodesMissingKey(croatianKeyId));
+        assertEquals(-1, keyPresence.getKeyId("c.unknown"));
+        assertEquals(List.of(), keyPresence.getLangCodesMissingKey(-1));
+    }
+
+    @Test
+    public void mapsCoreKeysPerLanguageIgnoringCase() {
+        final TranslationKeyPresence keyPresence = computeModulePresence(buildTables(Map.of(
+                "en", Map.of("A.One", "ONE", "c.core", "CORE"),
+                "hr", Map.of("b.only", "SAMO", "c.core", "JEZGRA")
+        )));
+        final int sharedKeyId = keyPresence.getKeyId("a.one");
+        final int englishKeyId = keyPresence.getKeyId("a.two");
+        final int croatianKeyId = keyPresence.getKeyId("b.only");
+        assertTrue(keyPresence.isInCore("en", sharedKeyId));
+        assertFalse(keyPresence.isInCore("hr", sharedKeyId));
+        assertFalse(keyPresence.isInCore("en", englishKeyId));
+        assertTrue(keyPresence.isInCore("hr", croatianKeyId));
+        assertFalse(keyPresence.isInCore("en", croatianKeyId));
+    }
+
+    @Test
+    public void handlesModuleWithoutTranslations() {
+        final TranslationKeyPresence keyPresence = TranslationKeyPresence.compute(
+                Collections.emptyMap(),
+                buildTables(Map.of("en", Map.of("a.one", "ONE")))
+        );
+        assertEquals(-1, keyPresence.getKeyId("a.one"));
+        assertFalse(keyPresence.isOwnedBy("en", 0));
+        assertFalse(keyPresence.isInCore("en", 0));
+    }
+}